@@ -7,39 +7,29 @@ import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.UUID;
 
 @Aspect
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.security.list-permission.mode", havingValue = "aspect", matchIfMissing = true)
 public class ListPermissionAspect {
 
-    public static final String LIST_ID = "listId";
     private final TodoListAuthorizationService authorizationService;
+    private final ListPermissionRegistry registry;
 
     @Before("@annotation(requireListPermission)")
     public void checkListPermission(JoinPoint joinPoint, RequireListPermission requireListPermission) {
-        UUID listId = getListId(joinPoint);
-        if (listId != null) {
-            RequireListPermission.Permission permission = requireListPermission.value();
-            authorizationService.check(listId, permission);
+        ListPermissionMetadata metadata = registry.get(((MethodSignature) joinPoint.getSignature()).getMethod());
+        if (metadata == null || !metadata.hasListId()) {
+            return;
         }
-    }
-
-    private UUID getListId(JoinPoint joinPoint) {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        Parameter[] parameters = method.getParameters();
-        Object[] args = joinPoint.getArgs();
-        for (int i = 0; i < parameters.length; i++) {
-            if (LIST_ID.equals(parameters[i].getName())) {
-                return (UUID) args[i];
-            }
+        UUID listId = (UUID) joinPoint.getArgs()[metadata.listIdIndex()];
+        if (listId != null) {
+            authorizationService.check(listId, metadata.permission());
         }
-        return null;
     }
 }
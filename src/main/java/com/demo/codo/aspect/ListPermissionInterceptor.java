@@ -0,0 +1,51 @@
+package com.demo.codo.aspect;
+
+import com.demo.codo.service.TodoListAuthorizationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs the {@link com.demo.codo.annotation.RequireListPermission} check before argument binding and
+ * validation, reading the list id straight from the matched URI template variables.
+ */
+@RequiredArgsConstructor
+public class ListPermissionInterceptor implements HandlerInterceptor {
+
+    private final TodoListAuthorizationService authorizationService;
+    private final ListPermissionRegistry registry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ListPermissionMetadata metadata = registry.get(handlerMethod.getMethod());
+        if (metadata == null || !metadata.hasListId()) {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String rawListId = variables == null ? null : variables.get(metadata.listIdVariable());
+        if (rawListId == null) {
+            return true;
+        }
+
+        UUID listId;
+        try {
+            listId = UUID.fromString(rawListId);
+        } catch (IllegalArgumentException e) {
+            // Left to argument binding, which rejects it with 400
+            return true;
+        }
+        authorizationService.check(listId, metadata.permission());
+        return true;
+    }
+}
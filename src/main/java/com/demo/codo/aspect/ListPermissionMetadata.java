@@ -0,0 +1,14 @@
+package com.demo.codo.aspect;
+
+import com.demo.codo.annotation.RequireListPermission;
+
+/**
+ * Pre-resolved permission requirement of a handler method: which argument (and path variable) carries
+ * the list id, and which permission it needs. A negative index means the method has no list id argument.
+ */
+public record ListPermissionMetadata(int listIdIndex, String listIdVariable, RequireListPermission.Permission permission) {
+
+    public boolean hasListId() {
+        return listIdIndex >= 0;
+    }
+}
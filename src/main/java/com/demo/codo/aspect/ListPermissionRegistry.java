@@ -0,0 +1,87 @@
+package com.demo.codo.aspect;
+
+import com.demo.codo.annotation.RequireListPermission;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup table of {@link RequireListPermission} handler metadata, built once from the registered request
+ * mappings after startup so the permission check never has to inspect parameters per request.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ListPermissionRegistry implements SmartInitializingSingleton {
+
+    public static final String LIST_ID = "listId";
+
+    private final ApplicationContext applicationContext;
+
+    private volatile Map<Method, ListPermissionMetadata> handlers = Map.of();
+    // Annotated methods outside of request mappings, resolved on first use
+    private final Map<Method, ListPermissionMetadata> others = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Method, ListPermissionMetadata> resolved = new HashMap<>();
+        applicationContext.getBeansOfType(RequestMappingHandlerMapping.class).values().forEach(mapping ->
+                mapping.getHandlerMethods().values().stream()
+                        .map(HandlerMethod::getMethod)
+                        .forEach(method -> {
+                            ListPermissionMetadata metadata = resolve(method);
+                            if (metadata != null) {
+                                resolved.put(method, metadata);
+                            }
+                        }));
+        handlers = Map.copyOf(resolved);
+        log.info("Resolved list permission metadata for {} handler methods", resolved.size());
+    }
+
+    public ListPermissionMetadata get(Method method) {
+        ListPermissionMetadata metadata = handlers.get(method);
+        if (metadata != null) {
+            return metadata;
+        }
+        return others.computeIfAbsent(method, ListPermissionRegistry::resolve);
+    }
+
+    static ListPermissionMetadata resolve(Method method) {
+        RequireListPermission annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequireListPermission.class);
+        if (annotation == null) {
+            return null;
+        }
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            String variable = listIdVariable(parameters[i]);
+            if (variable != null) {
+                return new ListPermissionMetadata(i, variable, annotation.value());
+            }
+        }
+        return new ListPermissionMetadata(-1, null, annotation.value());
+    }
+
+    private static String listIdVariable(Parameter parameter) {
+        PathVariable pathVariable = parameter.getAnnotation(PathVariable.class);
+        if (pathVariable != null) {
+            String name = StringUtils.hasText(pathVariable.name()) ? pathVariable.name() : pathVariable.value();
+            if (StringUtils.hasText(name)) {
+                return LIST_ID.equals(name) ? LIST_ID : null;
+            }
+        }
+        return LIST_ID.equals(parameter.getName()) ? LIST_ID : null;
+    }
+}
@@ -1,10 +1,15 @@
 package com.demo.codo.config;
 
+import com.demo.codo.security.AuthenticationCache;
+import com.demo.codo.security.CachingAuthenticationProvider;
 import com.demo.codo.security.CustomUserDetailsService;
+import com.demo.codo.security.SessionTokenAuthenticationFilter;
+import com.demo.codo.service.SessionTokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,7 +17,9 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -20,6 +27,8 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final AuthenticationCache authenticationCache;
+    private final SessionTokenService sessionTokenService;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -27,10 +36,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
+        return new CachingAuthenticationProvider(authProvider, authenticationCache);
     }
 
     @Bean
@@ -46,8 +55,10 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/api/v1/users/verify", "/api/v1/users").permitAll() // Allow email verification
+                .requestMatchers(HttpMethod.POST, "/api/v1/auth/token").permitAll()
                 .anyRequest().authenticated()
             )
+            .addFilterBefore(new SessionTokenAuthenticationFilter(sessionTokenService), BasicAuthenticationFilter.class)
             .httpBasic(httpBasic -> {});
 
         return http.build();
@@ -26,6 +26,11 @@ public class SwaggerConfig {
                                 new SecurityScheme()
                                         .type(SecurityScheme.Type.HTTP)
                                         .scheme("basic")
-                                        .description("HTTP Basic Authentication")));
+                                        .description("HTTP Basic Authentication"))
+                        .addSecuritySchemes("bearerAuth",
+                                new SecurityScheme()
+                                        .type(SecurityScheme.Type.HTTP)
+                                        .scheme("bearer")
+                                        .description("Session token issued by POST /api/v1/auth/token")));
     }
 }
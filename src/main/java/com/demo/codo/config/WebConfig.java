@@ -0,0 +1,25 @@
+package com.demo.codo.config;
+
+import com.demo.codo.aspect.ListPermissionInterceptor;
+import com.demo.codo.aspect.ListPermissionRegistry;
+import com.demo.codo.service.TodoListAuthorizationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.security.list-permission.mode", havingValue = "interceptor")
+public class WebConfig implements WebMvcConfigurer {
+
+    private final TodoListAuthorizationService authorizationService;
+    private final ListPermissionRegistry listPermissionRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ListPermissionInterceptor(authorizationService, listPermissionRegistry))
+                .addPathPatterns("/api/v1/todo/**");
+    }
+}
@@ -0,0 +1,99 @@
+package com.demo.codo.controller;
+
+import com.demo.codo.dto.CursorPage;
+import com.demo.codo.dto.TodoItemDto;
+import com.demo.codo.dto.TodoItemResponse;
+import com.demo.codo.dto.TodoItemSearchHit;
+import com.demo.codo.enums.TodoItemStatus;
+import com.demo.codo.mapper.TodoItemMapper;
+import com.demo.codo.service.TodoItemService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@Tag(name = "Todo Items", description = "Operations for managing todo items within todo lists")
+@SecurityRequirement(name = "basicAuth")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/todo/items")
+public class AccessibleTodoItemController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private final TodoItemService service;
+    private final TodoItemMapper mapper;
+
+    @Operation(summary = "Get todo items across lists by due date", description = "Retrieve items from every list the current user owns or collaborates on in one query, ordered by due date with the item id as tie-breaker, e.g. for an overdue and upcoming calendar. Items without a due date are left out. Pass no cursor for the first slice and the returned nextCursor for the following ones.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved todo items",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<CursorPage<TodoItemResponse>> getAll(
+            @Parameter(description = "Filter by item status (TODO, IN_PROGRESS, COMPLETED, CANCELLED)")
+            @RequestParam(required = false) TodoItemStatus status,
+            @Parameter(description = "Filter items with due date from this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateFrom,
+            @Parameter(description = "Filter items with due date to this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateTo,
+            @Parameter(description = "Opaque cursor from a previous response; omit for the first slice")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size (1-100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        CursorPage<TodoItemDto> itemDtos = service.getAccessible(status, dueDateFrom, dueDateTo, cursor, size);
+        return ResponseEntity.ok(itemDtos.map(mapper::toResponse));
+    }
+
+    @Operation(summary = "Search todo items across lists", description = "Full-text search over item names and descriptions in every list the current user owns or collaborates on, ordered by relevance. Supports web search syntax: words, \"quoted phrases\", OR and -excluded words.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully searched todo items",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Blank query or invalid page size",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @GetMapping(params = "q")
+    public ResponseEntity<Slice<TodoItemSearchHit<TodoItemResponse>>> search(
+            @Parameter(description = "Search terms", required = true, example = "quarterly report")
+            @RequestParam String q,
+            @Parameter(description = "Filter by item status (TODO, IN_PROGRESS, COMPLETED, CANCELLED)")
+            @RequestParam(required = false) TodoItemStatus status,
+            @Parameter(description = "Filter items with due date from this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateFrom,
+            @Parameter(description = "Filter items with due date to this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateTo,
+            @Parameter(description = "Zero-based page index", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must not be negative and size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        Slice<TodoItemSearchHit<TodoItemDto>> hits = service.searchAccessible(q, status, dueDateFrom, dueDateTo, PageRequest.of(page, size));
+        return ResponseEntity.ok(hits.map(hit -> hit.map(mapper::toResponse)));
+    }
+}
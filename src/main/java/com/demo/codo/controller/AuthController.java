@@ -0,0 +1,96 @@
+package com.demo.codo.controller;
+
+import com.demo.codo.dto.TokenRequest;
+import com.demo.codo.dto.TokenResponse;
+import com.demo.codo.security.CustomUserDetailsService.CustomUserDetails;
+import com.demo.codo.security.SessionTokenAuthenticationFilter;
+import com.demo.codo.service.SessionTokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Authentication", description = "Session token login, logout and revocation")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/auth")
+public class AuthController {
+    private final AuthenticationManager authenticationManager;
+    private final SessionTokenService sessionTokenService;
+
+    @Operation(summary = "Issue a session token", description = "Check the password once and issue an opaque token to send as 'Authorization: Bearer <token>'")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token issued",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TokenResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Invalid credentials",
+                    content = @Content)
+    })
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> issueToken(
+            @Parameter(description = "User credentials", required = true)
+            @Valid @RequestBody TokenRequest request) {
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.getEmail(), request.getPassword()));
+        String token = sessionTokenService.issue((CustomUserDetails) authentication.getPrincipal());
+        TokenResponse response = TokenResponse.builder()
+                .token(token)
+                .tokenType("Bearer")
+                .expiresIn(sessionTokenService.getTokenExpiry().toSeconds())
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Logout", description = "Revoke the session token sent with this request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revoked",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @DeleteMapping("/token")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String token = SessionTokenAuthenticationFilter.resolveToken(authorization);
+        if (token != null) {
+            sessionTokenService.revoke(token);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Revoke all sessions", description = "Revoke every session token issued to the current user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "All tokens revoked",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @SecurityRequirement(name = "basicAuth")
+    @DeleteMapping("/tokens")
+    public ResponseEntity<Void> revokeAll(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        sessionTokenService.revokeAll(userDetails.getId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,8 +2,10 @@ package com.demo.codo.controller;
 
 import com.demo.codo.annotation.RequireListPermission;
 import com.demo.codo.annotation.RequireListPermission.Permission;
+import com.demo.codo.dto.BulkCollaboratorRequest;
 import com.demo.codo.dto.CollaboratorDto;
 import com.demo.codo.dto.CollaboratorRequest;
+import com.demo.codo.dto.CollaboratorShareResult;
 import com.demo.codo.service.CollaboratorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,6 +15,8 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -44,6 +48,24 @@ public class CollaboratorController {
         return ResponseEntity.ok(collaborators);
     }
 
+    @GetMapping(params = "size")
+    @RequireListPermission(Permission.READ)
+    @Operation(summary = "Get a page of collaborators for a todo list", description = "Retrieve collaborators of a specific todo list page by page. Used when a size is given; sortable by userName (default), userEmail and isEditable")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved collaborators"),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort field"),
+            @ApiResponse(responseCode = "404", description = "Todo list not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<Page<CollaboratorDto>> getCollaboratorPage(
+            @Parameter(description = "ID of the todo list", required = true)
+            @PathVariable UUID listId,
+            @Parameter(description = "Pagination and sorting information. Example: ?page=0&size=50&sort=userEmail,asc")
+            Pageable pageable) {
+        Page<CollaboratorDto> collaborators = collaboratorService.getCollaborators(listId, pageable);
+        return ResponseEntity.ok(collaborators);
+    }
+
     @PostMapping
     @RequireListPermission(Permission.OWNER)
     @Operation(summary = "Add a collaborator to a todo list", description = "Add a new collaborator to a specific todo list")
@@ -61,6 +83,23 @@ public class CollaboratorController {
         return ResponseEntity.status(HttpStatus.CREATED).body(collaborator);
     }
 
+    @PostMapping("/bulk")
+    @RequireListPermission(Permission.OWNER)
+    @Operation(summary = "Add or update many collaborators", description = "Share a todo list with many users in one request. New users are added, existing collaborators get the requested permission, unknown users and owners are reported and left unchanged")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Collaborators processed; returns one outcome per user"),
+            @ApiResponse(responseCode = "400", description = "Invalid request or too many collaborators"),
+            @ApiResponse(responseCode = "404", description = "Todo list not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<List<CollaboratorShareResult>> shareWith(
+            @Parameter(description = "ID of the todo list", required = true)
+            @PathVariable UUID listId,
+            @Valid @RequestBody BulkCollaboratorRequest request) {
+        List<CollaboratorShareResult> results = collaboratorService.shareWith(listId, request.getCollaborators());
+        return ResponseEntity.ok(results);
+    }
+
     @PatchMapping("/{userId}")
     @RequireListPermission(Permission.OWNER)
     @Operation(summary = "Update a collaborator's permissions", description = "Update the permissions of an existing collaborator")
@@ -1,12 +1,25 @@
 package com.demo.codo.controller;
 
 import com.demo.codo.annotation.RequireListPermission;
+import com.demo.codo.dto.BulkOperationResponse;
+import com.demo.codo.dto.CursorPage;
+import com.demo.codo.dto.TodoItemBatchRequest;
+import com.demo.codo.dto.TodoItemBatchResult;
+import com.demo.codo.dto.TodoItemChangeSet;
 import com.demo.codo.dto.TodoItemDto;
 import com.demo.codo.dto.TodoItemRequest;
 import com.demo.codo.dto.TodoItemResponse;
+import com.demo.codo.dto.TodoItemSearchHit;
+import com.demo.codo.dto.TodoItemStatusRequest;
+import com.demo.codo.enums.ExportFormat;
 import com.demo.codo.enums.TodoItemStatus;
 import com.demo.codo.mapper.TodoItemMapper;
+import com.demo.codo.service.TodoItemExportService;
+import com.demo.codo.service.TodoItemImportService;
 import com.demo.codo.service.TodoItemService;
+import com.demo.codo.service.TodoResponseCache;
+import com.demo.codo.util.ETagUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,15 +28,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Tag(name = "Todo Items", description = "Operations for managing todo items within todo lists")
@@ -32,8 +58,19 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/api/v1/todo/lists/{listId}/items")
 public class TodoItemController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_CHANGES_PAGE_SIZE = 1000;
+    private static final TypeReference<CachedPage> CACHED_PAGE = new TypeReference<>() {
+    };
+    private static final TypeReference<CursorPage<TodoItemResponse>> CACHED_CURSOR_PAGE = new TypeReference<>() {
+    };
+
     private final TodoItemService service;
+    private final TodoItemExportService exportService;
+    private final TodoItemImportService importService;
     private final TodoItemMapper mapper;
+    private final TodoResponseCache responseCache;
 
     @Operation(summary = "Create a new todo item", description = "Create a new todo item within a specific todo list")
     @ApiResponses(value = {
@@ -59,6 +96,30 @@ public class TodoItemController {
         return ResponseEntity.status(HttpStatus.CREATED).body(itemResponse);
     }
 
+    @Operation(summary = "Apply a batch of todo item operations", description = "Create, update and delete todo items of one list in a single request. Every operation is validated before anything is written, and the batch is applied in one transaction or not at all. The response lists a result per operation in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch applied; every operation succeeded",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TodoItemBatchResult.class))),
+            @ApiResponse(responseCode = "400", description = "Batch rejected; failed operations carry their own status and error",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TodoItemBatchResult.class))),
+            @ApiResponse(responseCode = "403", description = "No edit access to the todo list",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @PostMapping("/batch")
+    @RequireListPermission(RequireListPermission.Permission.EDIT)
+    public ResponseEntity<TodoItemBatchResult<TodoItemResponse>> batch(
+            @Parameter(description = "Todo list unique identifier", required = true)
+            @PathVariable UUID listId,
+            @Parameter(description = "Operations to apply", required = true)
+            @Valid @RequestBody TodoItemBatchRequest request) {
+        TodoItemBatchResult<TodoItemResponse> result = service.applyBatch(listId, request.getOperations()).map(mapper::toResponse);
+        return ResponseEntity.status(result.isApplied() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result);
+    }
+
     @Operation(summary = "Get todo items", description = "Retrieve todo items from a specific list with optional filtering by status and due date range. Supports sorting by status, name, dueDate, createdAt, updatedAt (use ?sort=field,direction e.g. ?sort=status,asc&sort=name,desc)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved todo items",
@@ -82,45 +143,291 @@ public class TodoItemController {
             @RequestParam(required = false) LocalDate dueDateTo,
             @Parameter(description = "Pagination and sorting information. Sortable fields: status, name, dueDate, createdAt, updatedAt. Example: ?sort=status,asc&sort=name,desc&page=0&size=10")
             Pageable pageable) {
-        Page<TodoItemDto> itemDtos = service.getAll(listId, status, dueDateFrom, dueDateTo, pageable);
-        Page<TodoItemResponse> itemResponses = itemDtos.map(mapper::toResponse);
+        String variant = String.join(":", "page", String.valueOf(status), String.valueOf(dueDateFrom), String.valueOf(dueDateTo),
+                String.valueOf(pageable.getPageNumber()), String.valueOf(pageable.getPageSize()), pageable.getSort().toString());
+        CachedPage cached = responseCache.get(listId, variant, CACHED_PAGE, () -> {
+            Page<TodoItemDto> itemDtos = service.getAll(listId, status, dueDateFrom, dueDateTo, pageable);
+            return new CachedPage(itemDtos.map(mapper::toResponse).getContent(), itemDtos.getTotalElements());
+        });
+        Page<TodoItemResponse> itemResponses = new PageImpl<>(cached.content(), pageable, cached.totalElements());
         return ResponseEntity.ok(itemResponses);
     }
 
-    @Operation(summary = "Get todo item by ID", description = "Retrieve a specific todo item by its unique identifier within a todo list")
+    @Operation(summary = "Get todo items by cursor", description = "Retrieve todo items from a specific list using keyset pagination, with the same filters as the paged listing. Sorts by a single field (status, name, dueDate, createdAt, updatedAt) with the item id as tie-breaker. Pass an empty cursor for the first slice and the returned nextCursor for the following ones; no total count is computed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved todo items",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort or size",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Todo list not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @GetMapping(params = "cursor")
+    @RequireListPermission(RequireListPermission.Permission.READ)
+    public ResponseEntity<CursorPage<TodoItemResponse>> getAllByCursor(
+            @Parameter(description = "Todo list unique identifier", required = true)
+            @PathVariable UUID listId,
+            @Parameter(description = "Filter by item status (TODO, IN_PROGRESS, COMPLETED, CANCELLED)")
+            @RequestParam(required = false) TodoItemStatus status,
+            @Parameter(description = "Filter items with due date from this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateFrom,
+            @Parameter(description = "Filter items with due date to this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateTo,
+            @Parameter(description = "Sort field and direction; must stay the same across slices", example = "dueDate,asc")
+            @RequestParam(defaultValue = "createdAt,asc") String sort,
+            @Parameter(description = "Opaque cursor from a previous response; empty for the first slice")
+            @RequestParam String cursor,
+            @Parameter(description = "Slice size (1-100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        String variant = String.join(":", "cursor", String.valueOf(status), String.valueOf(dueDateFrom), String.valueOf(dueDateTo),
+                sort, String.valueOf(size), cursor);
+        return ResponseEntity.ok(responseCache.get(listId, variant, CACHED_CURSOR_PAGE,
+                () -> service.getAll(listId, status, dueDateFrom, dueDateTo, sort, cursor, size).map(mapper::toResponse)));
+    }
+
+    @Operation(summary = "Get todo item changes", description = "Delta sync: return the items of a list created, updated or deleted since a change version the client already has. Every write to the list or its items raises the list's version. Start with since=0, follow nextCursor while hasNext is true, then keep the returned version for the next sync. Responds 410 when deletions older than the retention window are needed, in which case the client must reload the whole list.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved changes",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TodoItemChangeSet.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid version, cursor or size",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Todo list not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "410", description = "Version too old; reload the whole list",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @GetMapping("/changes")
+    @RequireListPermission(RequireListPermission.Permission.READ)
+    public ResponseEntity<TodoItemChangeSet<TodoItemResponse>> getChanges(
+            @Parameter(description = "Todo list unique identifier", required = true)
+            @PathVariable UUID listId,
+            @Parameter(description = "Change version the client is up to date with", example = "42")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Opaque cursor from a previous response; omit for the first slice")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size (1-1000)", example = "500")
+            @RequestParam(defaultValue = "500") int size) {
+        if (size < 1 || size > MAX_CHANGES_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_CHANGES_PAGE_SIZE);
+        }
+        TodoItemChangeSet<TodoItemDto> changes = service.getChanges(listId, since, cursor, size);
+        return ResponseEntity.ok(changes.map(mapper::toResponse));
+    }
+
+    @Operation(summary = "Search todo items", description = "Full-text search over item names and descriptions of a specific list, ordered by relevance with name matches ranked above description matches. Supports web search syntax: words, \"quoted phrases\", OR and -excluded words. The status and due date filters of the paged listing apply as well.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully searched todo items",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Blank query or invalid page size",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Todo list not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @GetMapping(params = {"q", "!cursor"})
+    @RequireListPermission(RequireListPermission.Permission.READ)
+    public ResponseEntity<Slice<TodoItemSearchHit<TodoItemResponse>>> search(
+            @Parameter(description = "Todo list unique identifier", required = true)
+            @PathVariable UUID listId,
+            @Parameter(description = "Search terms", required = true, example = "quarterly report")
+            @RequestParam String q,
+            @Parameter(description = "Filter by item status (TODO, IN_PROGRESS, COMPLETED, CANCELLED)")
+            @RequestParam(required = false) TodoItemStatus status,
+            @Parameter(description = "Filter items with due date from this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateFrom,
+            @Parameter(description = "Filter items with due date to this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateTo,
+            @Parameter(description = "Zero-based page index", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must not be negative and size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        Slice<TodoItemSearchHit<TodoItemDto>> hits = service.search(listId, q, status, dueDateFrom, dueDateTo, PageRequest.of(page, size));
+        return ResponseEntity.ok(hits.map(hit -> hit.map(mapper::toResponse)));
+    }
+
+    @Operation(summary = "Export todo items", description = "Stream every item of a list, ordered by id, as NDJSON (one item per line) or CSV with a header row. Accepts the same filters as the paged listing. To resume an interrupted export, pass the id of the last item received as afterId.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export stream",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or invalid filter",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Todo list not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @GetMapping("/export")
+    @RequireListPermission(RequireListPermission.Permission.READ)
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Todo list unique identifier", required = true)
+            @PathVariable UUID listId,
+            @Parameter(description = "Filter by item status (TODO, IN_PROGRESS, COMPLETED, CANCELLED)")
+            @RequestParam(required = false) TodoItemStatus status,
+            @Parameter(description = "Filter items with due date from this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateFrom,
+            @Parameter(description = "Filter items with due date to this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateTo,
+            @Parameter(description = "Only export items with an id greater than this one, i.e. the last id already received")
+            @RequestParam(required = false) UUID afterId,
+            @Parameter(description = "Output format: ndjson or csv", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromExtension(format);
+        StreamingResponseBody body = outputStream ->
+                exportService.export(listId, status, dueDateFrom, dueDateTo, afterId, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"items-" + listId + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @Operation(summary = "Import todo items", description = "Bulk-create items from an NDJSON or CSV upload sent as the request body. CSV needs a header row; the name, description, dueDate and status columns are read and any others (such as those of an export) are ignored. Rows are validated like single creates and valid ones are inserted in one statement. The response is NDJSON: one line per rejected row, then a summary line with the imported and rejected counts.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import report",
+                    content = @Content(mediaType = "application/x-ndjson")),
+            @ApiResponse(responseCode = "400", description = "Unsupported format, missing CSV header or oversized row",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "No edit access to the todo list",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @PostMapping("/import")
+    @RequireListPermission(RequireListPermission.Permission.EDIT)
+    public void importItems(
+            @Parameter(description = "Todo list unique identifier", required = true)
+            @PathVariable UUID listId,
+            @Parameter(description = "Upload format: ndjson or csv", example = "csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body,
+            HttpServletResponse response) throws IOException {
+        ExportFormat importFormat = ExportFormat.fromExtension(format);
+        response.setContentType(ExportFormat.NDJSON.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        importService.importItems(listId, importFormat, body, response.getOutputStream());
+    }
+
+    @Operation(summary = "Update status of matching todo items", description = "Move every item of the list that matches the optional status and due date filters to a new status in a single statement, e.g. complete all. Items already in the target status are not touched.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statuses updated; returns the number of changed items",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkOperationResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request data or validation error",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "No edit access to the todo list",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @PatchMapping
+    @RequireListPermission(RequireListPermission.Permission.EDIT)
+    public ResponseEntity<BulkOperationResponse> updateStatus(
+            @Parameter(description = "Todo list unique identifier", required = true)
+            @PathVariable UUID listId,
+            @Parameter(description = "Only update items with this status (TODO, IN_PROGRESS, COMPLETED, CANCELLED)")
+            @RequestParam(required = false) TodoItemStatus status,
+            @Parameter(description = "Only update items with due date from this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateFrom,
+            @Parameter(description = "Only update items with due date to this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateTo,
+            @Parameter(description = "Target status", required = true)
+            @Valid @RequestBody TodoItemStatusRequest request) {
+        long affected = service.updateStatus(listId, status, dueDateFrom, dueDateTo, request.getStatus());
+        return ResponseEntity.ok(new BulkOperationResponse(affected));
+    }
+
+    @Operation(summary = "Delete matching todo items", description = "Delete every item of the list that matches the optional status and due date filters in a single statement, e.g. clear completed. Without filters all items of the list are deleted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Items deleted; returns the number of deleted items",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkOperationResponse.class))),
+            @ApiResponse(responseCode = "403", description = "No edit access to the todo list",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @DeleteMapping
+    @RequireListPermission(RequireListPermission.Permission.EDIT)
+    public ResponseEntity<BulkOperationResponse> deleteAll(
+            @Parameter(description = "Todo list unique identifier", required = true)
+            @PathVariable UUID listId,
+            @Parameter(description = "Only delete items with this status (TODO, IN_PROGRESS, COMPLETED, CANCELLED)")
+            @RequestParam(required = false) TodoItemStatus status,
+            @Parameter(description = "Only delete items with due date from this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateFrom,
+            @Parameter(description = "Only delete items with due date to this date (inclusive)")
+            @RequestParam(required = false) LocalDate dueDateTo) {
+        long affected = service.deleteAll(listId, status, dueDateFrom, dueDateTo);
+        return ResponseEntity.ok(new BulkOperationResponse(affected));
+    }
+
+    @Operation(summary = "Get todo item by ID", description = "Retrieve a specific todo item by its unique identifier within a todo list. The response carries the item version as ETag; send it back in If-None-Match to revalidate a cached copy")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Todo item found and returned successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TodoItemResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Todo item unchanged since the version in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "No access to the todo list",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Todo item or todo list not found",
                     content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
                     content = @Content)
     })
+    // READ access is enforced by the service's single authorize-and-fetch query
     @GetMapping("/{id}")
-    @RequireListPermission(RequireListPermission.Permission.READ)
     public ResponseEntity<TodoItemResponse> get(
             @Parameter(description = "Todo list unique identifier", required = true)
             @PathVariable UUID listId,
             @Parameter(description = "Todo item unique identifier", required = true)
-            @PathVariable UUID id) {
+            @PathVariable UUID id,
+            @Parameter(description = "ETag of a cached copy of the item")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            WebRequest webRequest) {
+        if (ifNoneMatch != null) {
+            // Revalidation reads only the version, so an unchanged item is never loaded or mapped
+            Optional<Long> version = service.findVersion(listId, id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String eTag = ETagUtil.of(version.get());
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
         return service.find(listId, id)
                 .map(itemDto -> {
                     TodoItemResponse itemResponse = mapper.toResponse(itemDto);
-                    return ResponseEntity.ok(itemResponse);
+                    return ResponseEntity.ok().eTag(ETagUtil.of(itemDto.getVersion())).body(itemResponse);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    @Operation(summary = "Update todo item", description = "Update an existing todo item with new information")
+    @Operation(summary = "Update todo item", description = "Update an existing todo item with new information. Send the item's ETag in If-Match to apply the update only if nobody changed the item in the meantime")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Todo item updated successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TodoItemResponse.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request data or validation error",
+            @ApiResponse(responseCode = "400", description = "Invalid request data, validation error or malformed If-Match",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Todo item or todo list not found",
                     content = @Content),
+            @ApiResponse(responseCode = "412", description = "Todo item was modified since the version in If-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
                     content = @Content)
     })
@@ -132,10 +439,12 @@ public class TodoItemController {
             @Parameter(description = "Todo item unique identifier", required = true)
             @PathVariable UUID id,
             @Parameter(description = "Updated todo item information", required = true)
-            @RequestBody TodoItemRequest request) {
-        TodoItemDto itemDto = service.update(listId, id, request);
+            @RequestBody TodoItemRequest request,
+            @Parameter(description = "ETag of the item version the update is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TodoItemDto itemDto = service.update(listId, id, request, ETagUtil.parseIfMatch(ifMatch));
         TodoItemResponse itemResponse = mapper.toResponse(itemDto);
-        return ResponseEntity.ok(itemResponse);
+        return ResponseEntity.ok().eTag(ETagUtil.of(itemDto.getVersion())).body(itemResponse);
     }
 
     @Operation(summary = "Delete todo item", description = "Delete a todo item by its unique identifier within a todo list")
@@ -157,4 +466,10 @@ public class TodoItemController {
         service.delete(listId, id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Cached form of a page of items; the page request is taken from the current request on a hit.
+     */
+    private record CachedPage(List<TodoItemResponse> content, long totalElements) {
+    }
 }
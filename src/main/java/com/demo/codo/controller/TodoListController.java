@@ -2,11 +2,16 @@ package com.demo.codo.controller;
 
 import com.demo.codo.annotation.RequireListPermission;
 import com.demo.codo.annotation.RequireListPermission.Permission;
+import com.demo.codo.dto.CursorPage;
 import com.demo.codo.dto.TodoListDto;
 import com.demo.codo.dto.TodoListRequest;
 import com.demo.codo.dto.TodoListResponse;
 import com.demo.codo.mapper.TodoListMapper;
+import com.demo.codo.service.TodoListEventStreams;
 import com.demo.codo.service.TodoListService;
+import com.demo.codo.service.TodoResponseCache;
+import com.demo.codo.util.ETagUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,7 +23,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,9 +33,14 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Tag(name = "Todo Lists", description = "Operations for managing todo lists")
@@ -37,8 +49,14 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/api/v1/todo/lists")
 public class TodoListController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final TypeReference<TodoListResponse> CACHED_LIST = new TypeReference<>() {
+    };
+
     private final TodoListService service;
     private final TodoListMapper mapper;
+    private final TodoListEventStreams eventStreams;
+    private final TodoResponseCache responseCache;
     
     @Operation(summary = "Get all todo lists", description = "Retrieve a paginated list of all todo lists")
     @ApiResponses(value = {
@@ -55,6 +73,31 @@ public class TodoListController {
         return ResponseEntity.ok(listResponses);
     }
 
+    @Operation(summary = "Get todo lists by cursor", description = "Retrieve the caller's todo lists ordered by most recently updated, using keyset pagination. Pass an empty cursor for the first slice and the returned nextCursor for the following ones.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved todo lists",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<TodoListResponse>> getAllByCursor(
+            @Parameter(description = "Opaque cursor from a previous response; empty for the first slice")
+            @RequestParam String cursor,
+            @Parameter(description = "Slice size (1-100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Whether to include the total number of accessible lists")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        CursorPage<TodoListResponse> listResponses = service.getAll(cursor, size, includeTotal).map(mapper::toResponse);
+        return ResponseEntity.ok(listResponses);
+    }
+
     @Operation(summary = "Create a new todo list", description = "Create a new todo list with the provided information")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Todo list created successfully",
@@ -74,33 +117,76 @@ public class TodoListController {
         return ResponseEntity.status(HttpStatus.CREATED).body(listResponse);
     }
 
-    @Operation(summary = "Get todo list by ID", description = "Retrieve a specific todo list by its unique identifier")
+    @Operation(summary = "Get todo list by ID", description = "Retrieve a specific todo list by its unique identifier. The response carries the list version as ETag; send it back in If-None-Match to revalidate a cached copy")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Todo list found and returned successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TodoListResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Todo list unchanged since the version in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "No access to the todo list",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Todo list not found",
                     content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
                     content = @Content)
     })
+    // Checked up front as well, since a cached response is served without reaching the service
     @GetMapping("/{listId}")
     @RequireListPermission(Permission.READ)
     public ResponseEntity<TodoListResponse> get(
+            @Parameter(description = "Todo list unique identifier", required = true)
+            @PathVariable UUID listId,
+            @Parameter(description = "ETag of a cached copy of the list")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            WebRequest webRequest) {
+        if (ifNoneMatch != null) {
+            // Revalidation reads only the version, so an unchanged list is never loaded or mapped
+            Optional<Long> version = service.findVersion(listId);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String eTag = ETagUtil.of(version.get());
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+        TodoListResponse listResponse = responseCache.get(listId, "list", CACHED_LIST,
+                () -> service.find(listId).map(mapper::toResponse).orElse(null));
+        if (listResponse == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(ETagUtil.of(listResponse.getVersion())).body(listResponse);
+    }
+
+    @Operation(summary = "Subscribe to todo list changes", description = "Server-sent event stream that pushes a 'change' event whenever the list or its items are modified by anyone. Event data is {\"listId\", \"type\"} with type ITEMS, LIST, COLLABORATORS or DELETED; bursts of writes are coalesced into one event per type, and clients fetch the actual delta from the item changes endpoint. The stream ends after a COLLABORATORS or DELETED event, since access may have changed, or after the server-side timeout; clients should then reconnect.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened",
+                    content = @Content(mediaType = "text/event-stream")),
+            @ApiResponse(responseCode = "403", description = "No read access to the todo list",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
+                    content = @Content)
+    })
+    @GetMapping(value = "/{listId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequireListPermission(Permission.READ)
+    public SseEmitter subscribe(
             @Parameter(description = "Todo list unique identifier", required = true)
             @PathVariable UUID listId) {
-        return service.find(listId).map(dto -> ResponseEntity.ok(mapper.toResponse(dto))).orElse(ResponseEntity.notFound().build());
+        return eventStreams.subscribe(listId);
     }
 
-    @Operation(summary = "Update todo list", description = "Update an existing todo list with new information")
+    @Operation(summary = "Update todo list", description = "Update an existing todo list with new information. Send the list's ETag in If-Match to apply the update only if nobody changed the list in the meantime")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Todo list updated successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TodoListResponse.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request data",
+            @ApiResponse(responseCode = "400", description = "Invalid request data or malformed If-Match",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Todo list not found",
                     content = @Content),
+            @ApiResponse(responseCode = "412", description = "Todo list was modified since the version in If-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required",
                     content = @Content)
     })
@@ -110,10 +196,12 @@ public class TodoListController {
             @Parameter(description = "Todo list unique identifier", required = true)
             @PathVariable UUID listId,
             @Parameter(description = "Updated todo list information", required = true)
-            @RequestBody TodoListRequest request) {
-        TodoListDto listDto = service.update(listId, request);
+            @RequestBody TodoListRequest request,
+            @Parameter(description = "ETag of the list version the update is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TodoListDto listDto = service.update(listId, request, ETagUtil.parseIfMatch(ifMatch));
         TodoListResponse listResponse = mapper.toResponse(listDto);
-        return ResponseEntity.ok(listResponse);
+        return ResponseEntity.ok().eTag(ETagUtil.of(listDto.getVersion())).body(listResponse);
     }
 
     @Operation(summary = "Delete todo list", description = "Delete a todo list by its unique identifier")
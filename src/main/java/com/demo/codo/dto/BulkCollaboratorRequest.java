@@ -0,0 +1,23 @@
+package com.demo.codo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to add or update many collaborators at once")
+public class BulkCollaboratorRequest {
+
+    @NotEmpty(message = "Collaborators are required")
+    @Schema(description = "Users to share the list with; a repeated user ID keeps its last entry", required = true)
+    private List<@Valid CollaboratorRequest> collaborators;
+}
@@ -0,0 +1,18 @@
+package com.demo.codo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a set-based bulk operation")
+public class BulkOperationResponse {
+
+    @Schema(description = "Number of affected rows", example = "42")
+    private long affected;
+}
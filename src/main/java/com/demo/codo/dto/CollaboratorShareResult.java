@@ -0,0 +1,27 @@
+package com.demo.codo.dto;
+
+import com.demo.codo.enums.CollaboratorShareOutcome;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of sharing a todo list with one user")
+public class CollaboratorShareResult {
+
+    @Schema(description = "User ID of the collaborator", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID userId;
+
+    @Schema(description = "What happened for this user", example = "CREATED", allowableValues = {"CREATED", "UPDATED", "USER_NOT_FOUND", "OWNER_UNCHANGED"})
+    private CollaboratorShareOutcome outcome;
+
+    @Schema(description = "Whether the collaborator can edit the todo list after the request", example = "true")
+    private Boolean isEditable;
+}
@@ -0,0 +1,45 @@
+package com.demo.codo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Keyset-paginated slice of results")
+public class CursorPage<T> {
+
+    @Schema(description = "Results of this slice")
+    private List<T> content;
+
+    @Schema(description = "Requested slice size", example = "20")
+    private int size;
+
+    @Schema(description = "Whether more results follow this slice", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque cursor for the next slice; absent on the last slice")
+    private String nextCursor;
+
+    @Schema(description = "Total number of results, only present when requested", example = "42")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return CursorPage.<R>builder()
+                .content(content.stream().<R>map(mapper).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(totalElements)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.demo.codo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch of todo item operations applied to one list in a single transaction")
+public class TodoItemBatchRequest {
+
+    @NotEmpty(message = "Operations are required")
+    @Schema(description = "Operations to apply, in order", required = true)
+    private List<TodoItemOperation> operations;
+}
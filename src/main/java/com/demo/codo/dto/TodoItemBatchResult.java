@@ -0,0 +1,31 @@
+package com.demo.codo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Per-operation results of a todo item batch")
+public class TodoItemBatchResult<T> {
+
+    @Schema(description = "Whether the batch was applied; batches are all-or-nothing", example = "true")
+    private boolean applied;
+
+    @Schema(description = "Results in request order")
+    private List<TodoItemOperationResult<T>> results;
+
+    public <R> TodoItemBatchResult<R> map(Function<? super T, ? extends R> mapper) {
+        return TodoItemBatchResult.<R>builder()
+                .applied(applied)
+                .results(results.stream().map(result -> result.<R>map(mapper)).toList())
+                .build();
+    }
+}
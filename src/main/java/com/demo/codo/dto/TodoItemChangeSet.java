@@ -0,0 +1,44 @@
+package com.demo.codo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Items of a list changed since a client's last sync")
+public class TodoItemChangeSet<T> {
+
+    @Schema(description = "Current change version of the list; pass it as since on the next sync once hasNext is false", example = "42")
+    private long version;
+
+    @Schema(description = "Items created or updated since the requested version")
+    private List<T> changed;
+
+    @Schema(description = "Ids of items deleted since the requested version")
+    private List<UUID> deleted;
+
+    @Schema(description = "Whether more changes follow in another slice", example = "false")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque cursor for the next slice; absent on the last slice")
+    private String nextCursor;
+
+    public <R> TodoItemChangeSet<R> map(Function<? super T, ? extends R> mapper) {
+        return TodoItemChangeSet.<R>builder()
+                .version(version)
+                .changed(changed.stream().<R>map(mapper).toList())
+                .deleted(deleted)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
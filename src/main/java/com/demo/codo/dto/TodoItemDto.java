@@ -20,6 +20,7 @@ public class TodoItemDto {
     private String description;
     private LocalDate dueDate;
     private String status;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,21 @@
+package com.demo.codo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "An import row that was skipped")
+public class TodoItemImportRejection {
+
+    @Schema(description = "1-based position of the row in the upload, not counting a CSV header", example = "7")
+    private long row;
+
+    @Schema(description = "Why the row was rejected", example = "name: Name is required")
+    private String error;
+}
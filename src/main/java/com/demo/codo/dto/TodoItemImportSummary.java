@@ -0,0 +1,21 @@
+package com.demo.codo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Totals of an item import, sent as the last line of the report")
+public class TodoItemImportSummary {
+
+    @Schema(description = "Number of items created", example = "99998")
+    private long imported;
+
+    @Schema(description = "Number of rows skipped", example = "2")
+    private long rejected;
+}
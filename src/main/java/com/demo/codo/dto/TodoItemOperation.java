@@ -0,0 +1,27 @@
+package com.demo.codo.dto;
+
+import com.demo.codo.enums.TodoItemOperationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Single create, update or delete operation within a batch")
+public class TodoItemOperation {
+
+    @Schema(description = "Operation to apply", example = "UPDATE", allowableValues = {"CREATE", "UPDATE", "DELETE"}, required = true)
+    private TodoItemOperationType type;
+
+    @Schema(description = "Todo item unique identifier (required for UPDATE and DELETE, not allowed for CREATE)", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID id;
+
+    @Schema(description = "Item fields (required for CREATE and UPDATE; UPDATE only applies non-null fields)")
+    private TodoItemRequest item;
+}
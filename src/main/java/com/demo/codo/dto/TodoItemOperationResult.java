@@ -0,0 +1,50 @@
+package com.demo.codo.dto;
+
+import com.demo.codo.enums.TodoItemOperationType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of a single batch operation")
+public class TodoItemOperationResult<T> {
+
+    @Schema(description = "Position of the operation in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Requested operation", example = "UPDATE")
+    private TodoItemOperationType type;
+
+    @Schema(description = "Todo item unique identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID id;
+
+    @Schema(description = "HTTP-style status of the operation: 201, 200 or 204 when applied, 400 or 404 when rejected, 424 when skipped because another operation was rejected", example = "200")
+    private int status;
+
+    @Schema(description = "Reason the operation was rejected")
+    private String error;
+
+    @Schema(description = "Created or updated todo item")
+    private T item;
+
+    public <R> TodoItemOperationResult<R> map(Function<? super T, ? extends R> mapper) {
+        return TodoItemOperationResult.<R>builder()
+                .index(index)
+                .type(type)
+                .id(id)
+                .status(status)
+                .error(error)
+                .item(item == null ? null : mapper.apply(item))
+                .build();
+    }
+}
@@ -35,6 +35,9 @@ public class TodoItemResponse {
     @Schema(description = "Current status of the todo item", example = "TODO", allowableValues = {"TODO", "IN_PROGRESS", "COMPLETED", "CANCELLED"})
     private TodoItemStatus status;
     
+    @Schema(description = "Version of the todo item, incremented on every change; sent as the ETag and expected in If-Match", example = "3")
+    private Long version;
+    
     @Schema(description = "Timestamp when the todo item was created", example = "2024-01-15T10:30:00")
     private LocalDateTime createdAt;
     
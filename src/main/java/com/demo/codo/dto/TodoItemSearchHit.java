@@ -0,0 +1,38 @@
+package com.demo.codo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Todo item matching a full-text search")
+public class TodoItemSearchHit<T> {
+
+    @Schema(description = "The matching item")
+    private T item;
+
+    @Schema(description = "Relevance of the item; hits are ordered by it, highest first", example = "0.6079271")
+    private float rank;
+
+    @Schema(description = "Item name with matched terms wrapped in <b> tags; the text is not HTML-escaped", example = "Write the <b>report</b>")
+    private String nameHighlight;
+
+    @Schema(description = "Excerpt of the description with matched terms wrapped in <b> tags; the text is not HTML-escaped", example = "Quarterly <b>report</b> for finance")
+    private String descriptionHighlight;
+
+    public <R> TodoItemSearchHit<R> map(Function<? super T, ? extends R> mapper) {
+        return TodoItemSearchHit.<R>builder()
+                .item(mapper.apply(item))
+                .rank(rank)
+                .nameHighlight(nameHighlight)
+                .descriptionHighlight(descriptionHighlight)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.demo.codo.dto;
+
+import com.demo.codo.enums.TodoItemStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to move matching todo items to a new status")
+public class TodoItemStatusRequest {
+
+    @NotNull(message = "Status is required")
+    @Schema(description = "Target status", example = "COMPLETED", allowableValues = {"TODO", "IN_PROGRESS", "COMPLETED", "CANCELLED"}, required = true)
+    private TodoItemStatus status;
+}
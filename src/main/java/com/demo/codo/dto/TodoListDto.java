@@ -16,6 +16,7 @@ public class TodoListDto {
     private UUID id;
     private String name;
     private String description;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -24,6 +24,9 @@ public class TodoListResponse {
     @Schema(description = "Description of the todo list", example = "Tasks related to work projects")
     private String description;
     
+    @Schema(description = "Version of the todo list, incremented on every change; sent as the ETag and expected in If-Match", example = "3")
+    private Long version;
+    
     @Schema(description = "Timestamp when the todo list was created", example = "2024-01-15T10:30:00")
     private LocalDateTime createdAt;
     
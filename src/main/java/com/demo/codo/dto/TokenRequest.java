@@ -0,0 +1,24 @@
+package com.demo.codo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Credentials exchanged for a session token")
+public class TokenRequest {
+
+    @Schema(description = "User's email address", example = "john.doe@example.com", required = true)
+    @NotBlank(message = "Email is required")
+    private String email;
+
+    @Schema(description = "User's password", example = "SecurePassword123!", required = true)
+    @NotBlank(message = "Password is required")
+    private String password;
+}
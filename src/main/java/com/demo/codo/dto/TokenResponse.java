@@ -0,0 +1,24 @@
+package com.demo.codo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Session token response")
+public class TokenResponse {
+
+    @Schema(description = "Opaque session token, sent as 'Authorization: Bearer <token>'")
+    private String token;
+
+    @Schema(description = "Token type", example = "Bearer")
+    private String tokenType;
+
+    @Schema(description = "Idle timeout in seconds; every authenticated request extends it", example = "1800")
+    private Long expiresIn;
+}
@@ -45,6 +45,10 @@ public class TodoItem {
     @Column(name = "status", length = 50)
     private TodoItemStatus status;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
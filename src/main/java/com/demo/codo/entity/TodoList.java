@@ -1,10 +1,13 @@
 package com.demo.codo.entity;
 
+import com.demo.codo.service.EntityCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -19,7 +22,8 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "todo_list")
-@EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({AuditingEntityListener.class, EntityCacheInvalidationListener.class})
 public class TodoList {
 
     @Id
@@ -33,6 +37,10 @@ public class TodoList {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
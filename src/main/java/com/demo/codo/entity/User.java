@@ -1,5 +1,7 @@
 package com.demo.codo.entity;
 
+import com.demo.codo.security.UserAuthenticationCacheListener;
+import com.demo.codo.service.EntityCacheInvalidationListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,6 +11,8 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.time.LocalDateTime;
@@ -21,7 +25,8 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "`user`")
-@EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({AuditingEntityListener.class, UserAuthenticationCacheListener.class, EntityCacheInvalidationListener.class})
 public class User {
 
     @Id
@@ -1,10 +1,13 @@
 package com.demo.codo.entity;
 
+import com.demo.codo.service.EntityCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,7 +21,8 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "user_todo_list")
-@EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({AuditingEntityListener.class, EntityCacheInvalidationListener.class})
 public class UserTodoList {
 
     @Id
@@ -0,0 +1,8 @@
+package com.demo.codo.enums;
+
+public enum CollaboratorShareOutcome {
+    CREATED,
+    UPDATED,
+    USER_NOT_FOUND,
+    OWNER_UNCHANGED
+}
@@ -0,0 +1,6 @@
+package com.demo.codo.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    DEAD
+}
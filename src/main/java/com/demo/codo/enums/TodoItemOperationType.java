@@ -0,0 +1,7 @@
+package com.demo.codo.enums;
+
+public enum TodoItemOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
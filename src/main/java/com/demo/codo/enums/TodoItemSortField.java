@@ -0,0 +1,61 @@
+package com.demo.codo.enums;
+
+import com.demo.codo.entity.TodoItem;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Todo item fields that support keyset pagination. Each one is backed by a (list_id, field, id) index,
+ * and nullable fields follow PostgreSQL's default ordering: nulls last ascending, first descending.
+ */
+public enum TodoItemSortField {
+    STATUS("status", true, TodoItem::getStatus, TodoItemStatus::valueOf),
+    NAME("name", false, TodoItem::getName, Function.identity()),
+    DUE_DATE("dueDate", true, TodoItem::getDueDate, LocalDate::parse),
+    CREATED_AT("createdAt", false, TodoItem::getCreatedAt, LocalDateTime::parse),
+    UPDATED_AT("updatedAt", false, TodoItem::getUpdatedAt, LocalDateTime::parse);
+
+    private final String property;
+    private final boolean nullable;
+    private final Function<TodoItem, ? extends Comparable<?>> accessor;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    TodoItemSortField(String property, boolean nullable,
+                      Function<TodoItem, ? extends Comparable<?>> accessor,
+                      Function<String, ? extends Comparable<?>> parser) {
+        this.property = property;
+        this.nullable = nullable;
+        this.accessor = accessor;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public String format(TodoItem item) {
+        Comparable<?> value = accessor.apply(item);
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+
+    public Comparable<?> parse(String value) {
+        return value == null ? null : parser.apply(value);
+    }
+
+    public static TodoItemSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + property));
+    }
+}
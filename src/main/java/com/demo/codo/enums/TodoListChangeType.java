@@ -0,0 +1,12 @@
+package com.demo.codo.enums;
+
+/**
+ * Kind of change pushed to list subscribers. Events carry no item data: clients fetch the delta through
+ * the changes endpoint, which lets bursts of writes collapse into a single notification.
+ */
+public enum TodoListChangeType {
+    ITEMS,
+    LIST,
+    COLLABORATORS,
+    DELETED
+}
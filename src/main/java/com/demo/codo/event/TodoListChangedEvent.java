@@ -0,0 +1,11 @@
+package com.demo.codo.event;
+
+import com.demo.codo.enums.TodoListChangeType;
+
+import java.util.UUID;
+
+/**
+ * Published by write paths inside their transaction; subscribers are only notified once it commits.
+ */
+public record TodoListChangedEvent(UUID listId, TodoListChangeType type) {
+}
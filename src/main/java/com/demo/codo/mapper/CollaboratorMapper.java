@@ -3,6 +3,7 @@ package com.demo.codo.mapper;
 import com.demo.codo.dto.CollaboratorDto;
 import com.demo.codo.entity.User;
 import com.demo.codo.entity.UserTodoList;
+import com.demo.codo.repository.projection.CollaboratorView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -13,4 +14,6 @@ public interface CollaboratorMapper {
     @Mapping(source = "user.email", target = "userEmail")
     @Mapping(source = "userTodoList.isEditable", target = "isEditable")
     CollaboratorDto toDto(UserTodoList userTodoList, User user);
+
+    CollaboratorDto toDto(CollaboratorView view);
 }
@@ -1,15 +1,78 @@
 package com.demo.codo.repository;
 
 import com.demo.codo.entity.TodoItem;
+import com.demo.codo.repository.projection.TodoItemLookup;
+import com.demo.codo.repository.projection.TodoItemVersionLookup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface TodoItemRepository extends JpaRepository<TodoItem, UUID>, JpaSpecificationExecutor<TodoItem> {
+public interface TodoItemRepository extends JpaRepository<TodoItem, UUID>, JpaSpecificationExecutor<TodoItem>, TodoItemRepositoryCustom {
     
     Optional<TodoItem> findByIdAndTodoListId(UUID id, UUID todoListId);
+
+    List<TodoItem> findByListIdAndIdIn(UUID listId, Collection<UUID> ids);
+
+    boolean existsByListIdAndId(UUID listId, UUID id);
+
+    // Matches nothing when expectedVersion is set and differs, so a stale conditional update is never applied
+    @Transactional
+    @Query(value = "UPDATE todo_item SET " +
+            "name = COALESCE(CAST(:name AS varchar), name), " +
+            "description = COALESCE(CAST(:description AS text), description), " +
+            "due_date = COALESCE(CAST(:dueDate AS date), due_date), " +
+            "status = COALESCE(CAST(:status AS varchar), status), " +
+            "updated_at = :updatedAt, " +
+            "version = version + 1 " +
+            "WHERE id = :id AND list_id = :listId " +
+            "AND (CAST(:expectedVersion AS bigint) IS NULL OR version = :expectedVersion) RETURNING *", nativeQuery = true)
+    Optional<TodoItem> updateReturning(@Param("listId") UUID listId, @Param("id") UUID id,
+                                       @Param("name") String name, @Param("description") String description,
+                                       @Param("dueDate") LocalDate dueDate, @Param("status") String status,
+                                       @Param("updatedAt") LocalDateTime updatedAt,
+                                       @Param("expectedVersion") Long expectedVersion);
+
+    // Declares the touched table so Hibernate does not drop every second-level cache region
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM todo_item WHERE id = :id AND list_id = :listId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo_item"))
+    int deleteByListIdAndId(@Param("listId") UUID listId, @Param("id") UUID id);
+
+    // Removes a chunk of expired tombstones and raises each affected list's tombstone_version to the highest
+    // purged version, so clients that last synced below it are told to resync in full
+    @Transactional
+    @Query(value = "WITH purged AS (DELETE FROM todo_item_tombstone WHERE item_id IN " +
+            "(SELECT item_id FROM todo_item_tombstone WHERE deleted_at < :cutoff LIMIT :limit) " +
+            "RETURNING list_id, change_version), " +
+            "raised AS (UPDATE todo_list l SET tombstone_version = p.version " +
+            "FROM (SELECT list_id, MAX(change_version) AS version FROM purged GROUP BY list_id) p " +
+            "WHERE l.id = p.list_id AND l.tombstone_version < p.version RETURNING l.id) " +
+            "SELECT count(*) FROM purged", nativeQuery = true)
+    long compactTombstones(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query("select new com.demo.codo.repository.projection.TodoItemLookup(utl.listId, i) from UserTodoList utl " +
+            "left join TodoItem i on i.listId = utl.listId and i.id = :id " +
+            "where utl.listId = :listId and utl.userId = :userId")
+    Optional<TodoItemLookup> findAccessible(@Param("listId") UUID listId, @Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Query("select new com.demo.codo.repository.projection.TodoItemVersionLookup(utl.listId, i.version) from UserTodoList utl " +
+            "left join TodoItem i on i.listId = utl.listId and i.id = :id " +
+            "where utl.listId = :listId and utl.userId = :userId")
+    Optional<TodoItemVersionLookup> findAccessibleVersion(@Param("listId") UUID listId, @Param("id") UUID id, @Param("userId") UUID userId);
 }
@@ -0,0 +1,53 @@
+package com.demo.codo.repository;
+
+import com.demo.codo.entity.TodoItem;
+import com.demo.codo.enums.TodoItemStatus;
+import com.demo.codo.repository.projection.TodoItemChange;
+import com.demo.codo.repository.projection.TodoItemSearchMatch;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface TodoItemRepositoryCustom {
+
+    /**
+     * Sets the status of every matching item not already in that status with a single UPDATE statement.
+     *
+     * @return number of updated rows
+     */
+    int updateStatus(Specification<TodoItem> spec, TodoItemStatus status);
+
+    /**
+     * Full-text search over the item names and descriptions of one list, ordered by rank.
+     *
+     * @param query web search syntax: words, "quoted phrases", OR and -excluded words
+     */
+    List<TodoItemSearchMatch> search(UUID listId, String query, TodoItemStatus status,
+                                     LocalDate dueDateFrom, LocalDate dueDateTo, long offset, int limit);
+
+    /**
+     * Full-text search over the items of every list the user is a member of, ordered by rank.
+     *
+     * @param userId required; there is no unscoped search
+     * @param query  web search syntax: words, "quoted phrases", OR and -excluded words
+     */
+    List<TodoItemSearchMatch> searchAccessible(UUID userId, String query, TodoItemStatus status,
+                                               LocalDate dueDateFrom, LocalDate dueDateTo, long offset, int limit);
+
+    /**
+     * Items with a due date across every list the user is a member of, in (due_date, id) order starting after
+     * the given position.
+     *
+     * @param userId required; there is no unscoped listing
+     */
+    List<TodoItem> findAccessibleByDueDate(UUID userId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo,
+                                           LocalDate afterDueDate, UUID afterId, int limit);
+
+    /**
+     * Items written or deleted in a list above a change version, in (change_version, id) order starting after
+     * the given position.
+     */
+    List<TodoItemChange> findChanges(UUID listId, long afterVersion, UUID afterId, int limit);
+}
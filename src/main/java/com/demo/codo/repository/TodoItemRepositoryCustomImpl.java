@@ -0,0 +1,180 @@
+package com.demo.codo.repository;
+
+import com.demo.codo.entity.TodoItem;
+import com.demo.codo.enums.TodoItemStatus;
+import com.demo.codo.repository.projection.TodoItemChange;
+import com.demo.codo.repository.projection.TodoItemSearchMatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class TodoItemRepositoryCustomImpl implements TodoItemRepositoryCustom {
+    // Must match the configuration of the todo_item_search_document function
+    private static final String TEXT_SEARCH_CONFIG = "'english'";
+    // Spelled exactly as in idx_todo_item_search_document so the planner can match the expression index
+    private static final String SEARCH_DOCUMENT = "todo_item_search_document(i.name, i.description)";
+
+    // Ranks and limits in the inner query so the costly ts_headline only runs for the returned rows
+    private static final String SEARCH_SQL =
+            "SELECT m.*, ts_headline(" + TEXT_SEARCH_CONFIG + ", m.name, m.query) AS name_highlight, " +
+            "ts_headline(" + TEXT_SEARCH_CONFIG + ", coalesce(m.description, ''), m.query, " +
+            "'MaxFragments=2, MinWords=5, MaxWords=20') AS description_highlight " +
+            "FROM (SELECT i.id, i.list_id, i.name, i.description, i.due_date, i.status, i.version, i.created_at, i.updated_at, " +
+            "q.query, ts_rank(" + SEARCH_DOCUMENT + ", q.query) AS rank " +
+            "FROM todo_item i, websearch_to_tsquery(" + TEXT_SEARCH_CONFIG + ", ?) AS q(query) " +
+            "WHERE " + SEARCH_DOCUMENT + " @@ q.query%s " +
+            "ORDER BY rank DESC, i.id LIMIT ? OFFSET ?) m " +
+            "ORDER BY m.rank DESC, m.id";
+
+    private static final String ACCESSIBLE_BY_DUE_DATE_SQL =
+            "SELECT i.* FROM todo_item i JOIN user_todo_list utl ON utl.list_id = i.list_id AND utl.user_id = ? " +
+            "WHERE i.due_date IS NOT NULL%s ORDER BY i.due_date, i.id LIMIT ?";
+
+    // Live items and tombstones merged in version order; each branch can walk its (list_id, change_version, id) index
+    private static final String CHANGES_SQL =
+            "SELECT c.* FROM (" +
+            "SELECT i.id, i.change_version, false AS deleted, i.list_id, i.name, i.description, i.due_date, i.status, " +
+            "i.version, i.created_at, i.updated_at FROM todo_item i WHERE i.list_id = ? AND (i.change_version, i.id) > (?, ?) " +
+            "UNION ALL " +
+            "SELECT t.item_id, t.change_version, true, t.list_id, NULL, NULL, NULL, NULL, NULL, NULL, NULL " +
+            "FROM todo_item_tombstone t WHERE t.list_id = ? AND (t.change_version, t.item_id) > (?, ?)" +
+            ") c ORDER BY c.change_version, c.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateStatus(Specification<TodoItem> spec, TodoItemStatus status) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<TodoItem> update = criteriaBuilder.createCriteriaUpdate(TodoItem.class);
+        Root<TodoItem> root = update.from(TodoItem.class);
+        Path<TodoItemStatus> statusPath = root.get("status");
+
+        // Bulk statements bypass auditing and optimistic locking, so updated_at and version are set explicitly
+        Path<Long> versionPath = root.get("version");
+        update.set(statusPath, status)
+                .set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now())
+                .set(versionPath, criteriaBuilder.sum(versionPath, 1L))
+                .where(spec.toPredicate(root, null, criteriaBuilder),
+                        criteriaBuilder.or(criteriaBuilder.isNull(statusPath), criteriaBuilder.notEqual(statusPath, status)));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<TodoItemSearchMatch> search(UUID listId, String query, TodoItemStatus status,
+                                            LocalDate dueDateFrom, LocalDate dueDateTo, long offset, int limit) {
+        Assert.notNull(listId, "listId must not be null");
+        return search(" AND i.list_id = ?", listId, query, status, dueDateFrom, dueDateTo, offset, limit);
+    }
+
+    @Override
+    public List<TodoItemSearchMatch> searchAccessible(UUID userId, String query, TodoItemStatus status,
+                                                      LocalDate dueDateFrom, LocalDate dueDateTo, long offset, int limit) {
+        Assert.notNull(userId, "userId must not be null");
+        return search(" AND i.list_id IN (SELECT utl.list_id FROM user_todo_list utl WHERE utl.user_id = ?)", userId,
+                query, status, dueDateFrom, dueDateTo, offset, limit);
+    }
+
+    // Every search is scoped: the scope condition and its parameter are always part of the statement
+    private List<TodoItemSearchMatch> search(String scope, UUID scopeId, String query, TodoItemStatus status,
+                                             LocalDate dueDateFrom, LocalDate dueDateTo, long offset, int limit) {
+        StringBuilder conditions = new StringBuilder(scope);
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(query);
+        parameters.add(scopeId);
+        if (status != null) {
+            conditions.append(" AND i.status = ?");
+            parameters.add(status.name());
+        }
+        if (dueDateFrom != null) {
+            conditions.append(" AND i.due_date >= ?");
+            parameters.add(Date.valueOf(dueDateFrom));
+        }
+        if (dueDateTo != null) {
+            conditions.append(" AND i.due_date <= ?");
+            parameters.add(Date.valueOf(dueDateTo));
+        }
+        parameters.add(limit);
+        parameters.add(offset);
+
+        return jdbcTemplate.query(SEARCH_SQL.formatted(conditions), (resultSet, rowNumber) -> new TodoItemSearchMatch(
+                toItem(resultSet),
+                resultSet.getFloat("rank"),
+                resultSet.getString("name_highlight"),
+                resultSet.getString("description_highlight")), parameters.toArray());
+    }
+
+    @Override
+    public List<TodoItem> findAccessibleByDueDate(UUID userId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo,
+                                                  LocalDate afterDueDate, UUID afterId, int limit) {
+        Assert.notNull(userId, "userId must not be null");
+        StringBuilder conditions = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(userId);
+        if (status != null) {
+            conditions.append(" AND i.status = ?");
+            parameters.add(status.name());
+        }
+        if (dueDateFrom != null) {
+            conditions.append(" AND i.due_date >= ?");
+            parameters.add(Date.valueOf(dueDateFrom));
+        }
+        if (dueDateTo != null) {
+            conditions.append(" AND i.due_date <= ?");
+            parameters.add(Date.valueOf(dueDateTo));
+        }
+        if (afterDueDate != null) {
+            conditions.append(" AND (i.due_date, i.id) > (?, ?)");
+            parameters.add(Date.valueOf(afterDueDate));
+            parameters.add(afterId);
+        }
+        parameters.add(limit);
+
+        return jdbcTemplate.query(ACCESSIBLE_BY_DUE_DATE_SQL.formatted(conditions),
+                (resultSet, rowNumber) -> toItem(resultSet), parameters.toArray());
+    }
+
+    @Override
+    public List<TodoItemChange> findChanges(UUID listId, long afterVersion, UUID afterId, int limit) {
+        return jdbcTemplate.query(CHANGES_SQL, (resultSet, rowNumber) -> new TodoItemChange(
+                resultSet.getObject("id", UUID.class),
+                resultSet.getLong("change_version"),
+                resultSet.getBoolean("deleted") ? null : toItem(resultSet)),
+                listId, afterVersion, afterId, listId, afterVersion, afterId, limit);
+    }
+
+    private static TodoItem toItem(ResultSet resultSet) throws SQLException {
+        Date dueDate = resultSet.getDate("due_date");
+        String status = resultSet.getString("status");
+        return TodoItem.builder()
+                .id(resultSet.getObject("id", UUID.class))
+                .listId(resultSet.getObject("list_id", UUID.class))
+                .name(resultSet.getString("name"))
+                .description(resultSet.getString("description"))
+                .dueDate(dueDate == null ? null : dueDate.toLocalDate())
+                .status(status == null ? null : TodoItemStatus.valueOf(status))
+                .version(resultSet.getLong("version"))
+                .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
+                .updatedAt(resultSet.getTimestamp("updated_at").toLocalDateTime())
+                .build();
+    }
+}
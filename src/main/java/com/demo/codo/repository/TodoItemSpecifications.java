@@ -0,0 +1,60 @@
+package com.demo.codo.repository;
+
+import com.demo.codo.entity.TodoItem;
+import com.demo.codo.enums.TodoItemSortField;
+import com.demo.codo.enums.TodoItemStatus;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class TodoItemSpecifications {
+
+    /**
+     * Items of one list matching the optional status and inclusive due date bounds. Every combination
+     * is served by an index leading with list_id.
+     */
+    public static Specification<TodoItem> filter(UUID listId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo) {
+        Specification<TodoItem> spec = (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.get("listId"), listId);
+
+        if (status != null) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("status"), status));
+        }
+        if (dueDateFrom != null) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                criteriaBuilder.greaterThanOrEqualTo(root.get("dueDate"), dueDateFrom));
+        }
+        if (dueDateTo != null) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                criteriaBuilder.lessThanOrEqualTo(root.get("dueDate"), dueDateTo));
+        }
+        return spec;
+    }
+
+    /**
+     * Restricts to rows strictly after (value, id) in the given order, placing nulls where PostgreSQL sorts them.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<TodoItem> after(TodoItemSortField field, Sort.Direction direction, Comparable value, UUID id) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Comparable> path = root.get(field.getProperty());
+            Path<UUID> idPath = root.get("id");
+            boolean ascending = direction.isAscending();
+            Predicate idAfter = ascending ? criteriaBuilder.greaterThan(idPath, id) : criteriaBuilder.lessThan(idPath, id);
+
+            if (value == null) {
+                Predicate sameNullGroup = criteriaBuilder.and(criteriaBuilder.isNull(path), idAfter);
+                return ascending ? sameNullGroup : criteriaBuilder.or(sameNullGroup, criteriaBuilder.isNotNull(path));
+            }
+
+            Predicate beyond = ascending ? criteriaBuilder.greaterThan(path, value) : criteriaBuilder.lessThan(path, value);
+            Predicate next = criteriaBuilder.or(beyond, criteriaBuilder.and(criteriaBuilder.equal(path, value), idAfter));
+            return ascending && field.isNullable() ? criteriaBuilder.or(next, criteriaBuilder.isNull(path)) : next;
+        };
+    }
+}
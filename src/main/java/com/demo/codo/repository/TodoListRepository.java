@@ -1,16 +1,74 @@
 package com.demo.codo.repository;
 
 import com.demo.codo.entity.TodoList;
+import com.demo.codo.repository.projection.TodoListVersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface TodoListRepository extends JpaRepository<TodoList, UUID> {
-    
-    Page<TodoList> findByIdIn(List<UUID> ids, Pageable pageable);
+
+    @Query("select l from TodoList l join UserTodoList utl on utl.listId = l.id where l.id = :listId and utl.userId = :userId")
+    Optional<TodoList> findAccessible(@Param("listId") UUID listId, @Param("userId") UUID userId);
+
+    @Query("select l.version from TodoList l join UserTodoList utl on utl.listId = l.id where l.id = :listId and utl.userId = :userId")
+    Optional<Long> findAccessibleVersion(@Param("listId") UUID listId, @Param("userId") UUID userId);
+
+    @Query(value = "select l from TodoList l join UserTodoList utl on utl.listId = l.id where utl.userId = :userId",
+            countQuery = "select count(utl) from UserTodoList utl where utl.userId = :userId")
+    Page<TodoList> findAccessible(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(value = "SELECT l.* FROM todo_list l JOIN user_todo_list utl ON utl.list_id = l.id " +
+            "WHERE utl.user_id = :userId " +
+            "ORDER BY l.updated_at DESC, l.id DESC LIMIT :limit", nativeQuery = true)
+    List<TodoList> findAccessibleFirst(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    @Query(value = "SELECT l.* FROM todo_list l JOIN user_todo_list utl ON utl.list_id = l.id " +
+            "WHERE utl.user_id = :userId AND (l.updated_at, l.id) < (:updatedAt, :id) " +
+            "ORDER BY l.updated_at DESC, l.id DESC LIMIT :limit", nativeQuery = true)
+    List<TodoList> findAccessibleAfter(@Param("userId") UUID userId, @Param("updatedAt") LocalDateTime updatedAt,
+                                       @Param("id") UUID id, @Param("limit") int limit);
+
+    // Matches nothing when expectedVersion is set and differs, so a stale conditional update is never applied
+    @Transactional
+    @Query(value = "UPDATE todo_list SET " +
+            "name = COALESCE(CAST(:name AS varchar), name), " +
+            "description = COALESCE(CAST(:description AS text), description), " +
+            "updated_at = :updatedAt, " +
+            "version = version + 1 " +
+            "WHERE id = :id " +
+            "AND (CAST(:expectedVersion AS bigint) IS NULL OR version = :expectedVersion) RETURNING *", nativeQuery = true)
+    Optional<TodoList> updateReturning(@Param("id") UUID id, @Param("name") String name,
+                                       @Param("description") String description,
+                                       @Param("updatedAt") LocalDateTime updatedAt,
+                                       @Param("expectedVersion") Long expectedVersion);
+
+    // Items and memberships go with the list through ON DELETE CASCADE, so only those cache regions are invalidated
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM todo_list WHERE id = :id", nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo_list"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo_item"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_todo_list")
+    })
+    int deleteByIdReturningCount(@Param("id") UUID id);
+
+    @Query(value = "SELECT change_version AS \"changeVersion\", tombstone_version AS \"tombstoneVersion\" " +
+            "FROM todo_list WHERE id = :id", nativeQuery = true)
+    Optional<TodoListVersionView> findVersion(@Param("id") UUID id);
 }
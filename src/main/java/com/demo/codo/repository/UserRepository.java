@@ -1,17 +1,42 @@
 package com.demo.codo.repository;
 
 import com.demo.codo.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    String USER_BY_EMAIL_REGION = "user_by_email";
+
+    // Runs on every login; results are dropped whenever any user row is written
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = USER_BY_EMAIL_REGION)
+    })
     Optional<User> findByEmail(String email);
+
+    // Matches nothing when the user is gone or already verified; a bulk update, so Hibernate drops the cached user itself
+    @Transactional
+    @Modifying
+    @Query("update User u set u.emailVerified = true, u.updatedAt = :updatedAt where u.id = :id and u.emailVerified = false")
+    int markEmailVerified(@Param("id") UUID id, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select u.id from User u where u.id in :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
@@ -1,27 +1,68 @@
 package com.demo.codo.repository;
 
+import com.demo.codo.dto.CollaboratorDto;
 import com.demo.codo.entity.UserTodoList;
+import com.demo.codo.repository.projection.CollaboratorView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserTodoListRepository extends JpaRepository<UserTodoList, UUID> {
+public interface UserTodoListRepository extends JpaRepository<UserTodoList, UUID>, UserTodoListRepositoryCustom {
     
     List<UserTodoList> findByListIdAndIsOwnerFalse(UUID listId);
     
     List<UserTodoList> findByUserId(UUID userId);
+
+    long countByUserId(UUID userId);
     
     Optional<UserTodoList> findByUserIdAndListId(UUID userId, UUID listId);
     
     boolean existsByUserIdAndListId(UUID userId, UUID listId);
 
     @Transactional
-    void deleteByUserIdAndListId(UUID userId, UUID listId);
+    @Modifying
+    @Query("delete from UserTodoList utl where utl.userId = :userId and utl.listId = :listId")
+    int deleteByUserIdAndListId(@Param("userId") UUID userId, @Param("listId") UUID listId);
+
+    @Query("select new com.demo.codo.dto.CollaboratorDto(u.id, u.name, u.email, utl.isEditable) " +
+            "from UserTodoList utl join utl.user u where utl.listId = :listId and utl.isOwner = false")
+    List<CollaboratorDto> findCollaborators(@Param("listId") UUID listId);
+
+    @Query(value = "select new com.demo.codo.dto.CollaboratorDto(u.id, u.name, u.email, utl.isEditable) " +
+            "from UserTodoList utl join utl.user u where utl.listId = :listId and utl.isOwner = false",
+            countQuery = "select count(utl) from UserTodoList utl where utl.listId = :listId and utl.isOwner = false")
+    Page<CollaboratorDto> findCollaborators(@Param("listId") UUID listId, Pageable pageable);
+
+    // Inserts only when the user exists and is not yet a member; an empty result means neither happened
+    @Transactional
+    @Query(value = "WITH inserted AS (" +
+            "INSERT INTO user_todo_list (user_id, list_id, is_editable, is_owner, created_at, updated_at) " +
+            "SELECT u.id, CAST(:listId AS uuid), :canEdit, false, :now, :now FROM \"user\" u WHERE u.id = :userId " +
+            "ON CONFLICT (user_id, list_id) DO NOTHING " +
+            "RETURNING user_id, is_editable) " +
+            "SELECT i.user_id AS \"userId\", u.name AS \"userName\", u.email AS \"userEmail\", i.is_editable AS \"isEditable\" " +
+            "FROM inserted i JOIN \"user\" u ON u.id = i.user_id", nativeQuery = true)
+    Optional<CollaboratorView> insertReturning(@Param("listId") UUID listId, @Param("userId") UUID userId,
+                                               @Param("canEdit") boolean canEdit, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Query(value = "WITH updated AS (" +
+            "UPDATE user_todo_list SET is_editable = :canEdit, updated_at = :now " +
+            "WHERE user_id = :userId AND list_id = :listId " +
+            "RETURNING user_id, is_editable) " +
+            "SELECT d.user_id AS \"userId\", u.name AS \"userName\", u.email AS \"userEmail\", d.is_editable AS \"isEditable\" " +
+            "FROM updated d JOIN \"user\" u ON u.id = d.user_id", nativeQuery = true)
+    Optional<CollaboratorView> updateReturning(@Param("listId") UUID listId, @Param("userId") UUID userId,
+                                               @Param("canEdit") boolean canEdit, @Param("now") LocalDateTime now);
 }
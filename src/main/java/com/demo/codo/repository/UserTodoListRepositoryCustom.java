@@ -0,0 +1,15 @@
+package com.demo.codo.repository;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface UserTodoListRepositoryCustom {
+
+    /**
+     * Inserts or updates non-owner memberships of a list in one statement, skipping unknown users and owners.
+     *
+     * @param canEditByUserId edit permission per user ID
+     * @return for every written membership, whether it was newly inserted
+     */
+    Map<UUID, Boolean> upsertCollaborators(UUID listId, Map<UUID, Boolean> canEditByUserId);
+}
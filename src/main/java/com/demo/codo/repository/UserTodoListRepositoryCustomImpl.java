@@ -0,0 +1,43 @@
+package com.demo.codo.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class UserTodoListRepositoryCustomImpl implements UserTodoListRepositoryCustom {
+    // xmax is 0 only for rows inserted by this statement, which tells inserts from conflict updates
+    private static final String UPSERT_COLLABORATORS_SQL =
+            "INSERT INTO user_todo_list (user_id, list_id, is_editable, is_owner, created_at, updated_at) " +
+            "SELECT u.id, ?, r.can_edit, false, ?, ? " +
+            "FROM unnest(?::uuid[], ?::boolean[]) AS r(user_id, can_edit) " +
+            "JOIN \"user\" u ON u.id = r.user_id " +
+            "ON CONFLICT (user_id, list_id) DO UPDATE " +
+            "SET is_editable = EXCLUDED.is_editable, updated_at = EXCLUDED.updated_at " +
+            "WHERE NOT user_todo_list.is_owner " +
+            "RETURNING user_id, (xmax = 0) AS inserted";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<UUID, Boolean> upsertCollaborators(UUID listId, Map<UUID, Boolean> canEditByUserId) {
+        Map<UUID, Boolean> written = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPSERT_COLLABORATORS_SQL);
+            statement.setObject(1, listId);
+            statement.setTimestamp(2, now);
+            statement.setTimestamp(3, now);
+            statement.setArray(4, connection.createArrayOf("uuid", canEditByUserId.keySet().toArray()));
+            statement.setArray(5, connection.createArrayOf("boolean", canEditByUserId.values().toArray()));
+            return statement;
+        }, resultSet -> written.put(resultSet.getObject("user_id", UUID.class), resultSet.getBoolean("inserted")));
+        return written;
+    }
+}
@@ -0,0 +1,17 @@
+package com.demo.codo.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Collaborator row as returned by native writes; column aliases are quoted to keep their camel case.
+ */
+public interface CollaboratorView {
+
+    UUID getUserId();
+
+    String getUserName();
+
+    String getUserEmail();
+
+    Boolean getIsEditable();
+}
@@ -0,0 +1,11 @@
+package com.demo.codo.repository.projection;
+
+import com.demo.codo.entity.TodoItem;
+
+import java.util.UUID;
+
+/**
+ * Item written or deleted at a list change version; the item is null for a deletion.
+ */
+public record TodoItemChange(UUID id, long changeVersion, TodoItem item) {
+}
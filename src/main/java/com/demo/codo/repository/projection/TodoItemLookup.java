@@ -0,0 +1,12 @@
+package com.demo.codo.repository.projection;
+
+import com.demo.codo.entity.TodoItem;
+
+import java.util.UUID;
+
+/**
+ * Result of an authorize-and-fetch item query: present only when the caller is a member of the list,
+ * with a null item when the list is accessible but holds no item with the requested id.
+ */
+public record TodoItemLookup(UUID listId, TodoItem item) {
+}
@@ -0,0 +1,10 @@
+package com.demo.codo.repository.projection;
+
+import com.demo.codo.entity.TodoItem;
+
+/**
+ * Full-text search hit: the matching item with its rank and the name and description excerpts in which the
+ * matched terms are wrapped in &lt;b&gt; tags.
+ */
+public record TodoItemSearchMatch(TodoItem item, float rank, String nameHighlight, String descriptionHighlight) {
+}
@@ -0,0 +1,10 @@
+package com.demo.codo.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Version-only counterpart of {@link TodoItemLookup}: present only when the caller is a member of the list,
+ * with a null version when the list holds no item with the requested id.
+ */
+public record TodoItemVersionLookup(UUID listId, Long version) {
+}
@@ -0,0 +1,12 @@
+package com.demo.codo.repository.projection;
+
+/**
+ * Delta sync bookkeeping of a list: its current change version and the highest version whose tombstones
+ * have already been compacted.
+ */
+public interface TodoListVersionView {
+
+    Long getChangeVersion();
+
+    Long getTombstoneVersion();
+}
@@ -0,0 +1,153 @@
+package com.demo.codo.security;
+
+import com.demo.codo.entity.User;
+import com.demo.codo.security.CustomUserDetailsService.CustomUserDetails;
+import com.demo.codo.util.HashUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Caches successfully authenticated principals so repeated credentials skip the user lookup and BCrypt.
+ * Entries are keyed by an HMAC of (email, password) with a per-process random key, so the raw
+ * password is never held in memory and a wrong password can never produce a hit.
+ * <p>
+ * The cache is local to each node, so user writes evict it once their transaction commits and broadcast
+ * the eviction over pub/sub for the other nodes to apply. Bulk updates that skip the entity listeners
+ * must call {@link #evict(UUID)} themselves. Delivery is best-effort; the TTL bounds how long a node can
+ * keep authenticating a changed user if a message is lost.
+ */
+@Component
+@Slf4j
+public class AuthenticationCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "authentication_invalidation";
+
+    private static final String CACHE_NAME = "authentication";
+    private static final int HMAC_KEY_LENGTH = 32;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, CustomUserDetails> cache;
+    private final byte[] hmacKey = new byte[HMAC_KEY_LENGTH];
+
+    public AuthenticationCache(RedisTemplate<String, String> redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${app.security.auth-cache.ttl:5m}") Duration ttl,
+                               @Value("${app.security.auth-cache.max-size:10000}") long maxSize,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        new SecureRandom().nextBytes(hmacKey);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        log.info("AuthenticationCache initialized with ttl: {}, maxSize: {}", ttl, maxSize);
+    }
+
+    public CustomUserDetails get(String email, String password) {
+        return cache.getIfPresent(key(email, password));
+    }
+
+    public void put(String email, String password, CustomUserDetails userDetails) {
+        cache.put(key(email, password), userDetails);
+    }
+
+    /**
+     * Drops a user's cached authentications on every node, by id and by email so a re-created account
+     * under the same email is covered too, once the current transaction commits.
+     */
+    public void evict(User user) {
+        UUID userId = user.getId();
+        String email = user.getEmail();
+        afterCommit(() -> {
+            evictLocal(userId, email);
+            publish(email == null ? String.valueOf(userId) : userId + ":" + email);
+        });
+    }
+
+    /**
+     * Drops a user's cached authentications on every node once the current transaction commits, for bulk
+     * updates that only know the user id.
+     */
+    public void evict(UUID userId) {
+        afterCommit(() -> {
+            evictLocal(userId, null);
+            publish(userId.toString());
+        });
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            // User ids never contain the separator, emails may
+            int separator = body.indexOf(':');
+            if (separator < 0) {
+                evictLocal(UUID.fromString(body), null);
+            } else {
+                evictLocal(UUID.fromString(body.substring(0, separator)), body.substring(separator + 1));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed authentication invalidation message: {}", body);
+        }
+    }
+
+    private void evictLocal(UUID userId, String email) {
+        cache.asMap().values().removeIf(cached ->
+                cached.getId().equals(userId) || (email != null && cached.getUsername().equals(email)));
+        log.debug("Evicted cached authentications for user: {}", userId);
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast authentication invalidation for {}", message, e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private String key(String email, String password) {
+        return HashUtil.hmacSha256Hex(hmacKey, email + '\0' + password);
+    }
+}
@@ -43,6 +43,10 @@ public class CustomUserDetailsService implements UserDetailsService {
             return id;
         }
 
+        public String getName() {
+            return name;
+        }
+
         @Override
         public Collection<? extends GrantedAuthority> getAuthorities() {
             return List.of();
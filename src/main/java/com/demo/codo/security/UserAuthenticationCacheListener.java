@@ -0,0 +1,28 @@
+package com.demo.codo.security;
+
+import com.demo.codo.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached authentications on every node whenever a user row is written, so a changed password or a
+ * deleted/re-created account never authenticates against a stale principal.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserAuthenticationCacheListener {
+
+    // Resolved lazily: Hibernate instantiates entity listeners while the EntityManagerFactory is still being built
+    private final ObjectProvider<AuthenticationCache> authenticationCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        authenticationCache.ifAvailable(cache -> cache.evict(user));
+    }
+}
@@ -2,6 +2,9 @@ package com.demo.codo.service;
 
 import com.demo.codo.dto.CollaboratorDto;
 import com.demo.codo.dto.CollaboratorRequest;
+import com.demo.codo.dto.CollaboratorShareResult;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.UUID;
@@ -10,9 +13,13 @@ public interface CollaboratorService {
 
     List<CollaboratorDto> getCollaborators(UUID listId);
 
+    Page<CollaboratorDto> getCollaborators(UUID listId, Pageable pageable);
+
     CollaboratorDto addCollaborator(UUID listId, CollaboratorRequest request);
 
     CollaboratorDto updateCollaborator(UUID listId, UUID userId, CollaboratorRequest request);
 
     void removeCollaborator(UUID listId, UUID userId);
+
+    List<CollaboratorShareResult> shareWith(UUID listId, List<CollaboratorRequest> requests);
 }
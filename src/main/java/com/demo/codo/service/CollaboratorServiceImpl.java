@@ -2,88 +2,168 @@ package com.demo.codo.service;
 
 import com.demo.codo.dto.CollaboratorDto;
 import com.demo.codo.dto.CollaboratorRequest;
-import com.demo.codo.entity.User;
-import com.demo.codo.entity.UserTodoList;
+import com.demo.codo.dto.CollaboratorShareResult;
+import com.demo.codo.enums.CollaboratorShareOutcome;
+import com.demo.codo.enums.TodoListChangeType;
+import com.demo.codo.event.TodoListChangedEvent;
 import com.demo.codo.mapper.CollaboratorMapper;
 import com.demo.codo.repository.UserRepository;
 import com.demo.codo.repository.UserTodoListRepository;
-import com.demo.codo.service.CollaboratorService;
+import com.demo.codo.repository.projection.CollaboratorView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CollaboratorServiceImpl implements CollaboratorService {
+    private static final Map<String, String> COLLABORATOR_SORT_PATHS = Map.of(
+            "userName", "u.name",
+            "userEmail", "u.email",
+            "isEditable", "utl.isEditable");
 
     private final UserTodoListRepository userTodoListRepository;
     private final UserRepository userRepository;
     private final CollaboratorMapper collaboratorMapper;
+    private final ListPermissionCache permissionCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.collaborators.bulk.max-size:5000}")
+    private int maxBulkShareSize;
 
     @Override
     public List<CollaboratorDto> getCollaborators(UUID listId) {
-        List<UserTodoList> userTodoLists = userTodoListRepository.findByListIdAndIsOwnerFalse(listId);
-        
-        return userTodoLists.stream()
-                .map(userTodoList -> {
-                    User user = userRepository.findById(userTodoList.getUserId())
-                            .orElseThrow(() -> new RuntimeException("User not found with id: " + userTodoList.getUserId()));
-                    return collaboratorMapper.toDto(userTodoList, user);
-                })
-                .collect(Collectors.toList());
+        return userTodoListRepository.findCollaborators(listId);
+    }
+
+    @Override
+    public Page<CollaboratorDto> getCollaborators(UUID listId, Pageable pageable) {
+        return userTodoListRepository.findCollaborators(listId, toCollaboratorPageable(pageable));
     }
 
     @Override
+    @Transactional
     public CollaboratorDto addCollaborator(UUID listId, CollaboratorRequest request) {
         UUID userId = request.getUserId();
         
         if (userId == null) {
             throw new IllegalArgumentException("User ID is required for adding collaborators");
         }
+
+        CollaboratorView added = userTodoListRepository.insertReturning(listId, userId, request.getCanEdit(), LocalDateTime.now())
+                .orElseThrow(() -> userRepository.existsById(userId)
+                        ? new IllegalArgumentException("User is already a collaborator on this todo list")
+                        : new IllegalArgumentException("User not found with id: " + userId));
+        permissionCache.evict(listId, userId);
+        collaboratorsChanged(listId);
         
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
-        
-        if (userTodoListRepository.existsByUserIdAndListId(userId, listId)) {
-            throw new IllegalArgumentException("User is already a collaborator on this todo list");
-        }
-        
-        UserTodoList userTodoList = UserTodoList.builder()
-                .userId(userId)
-                .listId(listId)
-                .isEditable(request.getCanEdit())
-                .build();
-        
-        UserTodoList saved = userTodoListRepository.save(userTodoList);
-        
-        return collaboratorMapper.toDto(saved, user);
+        return collaboratorMapper.toDto(added);
     }
 
     @Override
+    @Transactional
     public CollaboratorDto updateCollaborator(UUID listId, UUID userId, CollaboratorRequest request) {
-        UserTodoList userTodoList = userTodoListRepository.findByUserIdAndListId(userId, listId)
+        CollaboratorView updated = userTodoListRepository.updateReturning(listId, userId, request.getCanEdit(), LocalDateTime.now())
                 .orElseThrow(() -> new IllegalArgumentException("Collaboration not found"));
+        permissionCache.evict(listId, userId);
+        collaboratorsChanged(listId);
         
-        userTodoList.setIsEditable(request.getCanEdit());
-        UserTodoList saved = userTodoListRepository.save(userTodoList);
-        
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-        
-        return collaboratorMapper.toDto(saved, user);
+        return collaboratorMapper.toDto(updated);
     }
 
     @Override
-
+    @Transactional
     public void removeCollaborator(UUID listId, UUID userId) {
-        if (!userTodoListRepository.existsByUserIdAndListId(userId, listId)) {
+        if (userTodoListRepository.deleteByUserIdAndListId(userId, listId) == 0) {
             throw new IllegalArgumentException("Collaboration not found");
         }
-        
-        userTodoListRepository.deleteByUserIdAndListId(userId, listId);
+        permissionCache.evict(listId, userId);
+        collaboratorsChanged(listId);
+    }
+
+    @Override
+    @Transactional
+    public List<CollaboratorShareResult> shareWith(UUID listId, List<CollaboratorRequest> requests) {
+        if (requests.size() > maxBulkShareSize) {
+            throw new IllegalArgumentException("At most " + maxBulkShareSize + " collaborators can be shared with at once");
+        }
+        Map<UUID, Boolean> canEditByUserId = new LinkedHashMap<>();
+        for (CollaboratorRequest request : requests) {
+            if (request.getUserId() == null) {
+                throw new IllegalArgumentException("User ID is required for adding collaborators");
+            }
+            canEditByUserId.put(request.getUserId(), request.getCanEdit());
+        }
+
+        Map<UUID, Boolean> written = userTodoListRepository.upsertCollaborators(listId, canEditByUserId);
+
+        // Users left out of the upsert are either unknown or already own the list
+        Set<UUID> existingUsers = Set.of();
+        if (written.size() < canEditByUserId.size()) {
+            Set<UUID> skipped = new HashSet<>(canEditByUserId.keySet());
+            skipped.removeAll(written.keySet());
+            existingUsers = userRepository.findExistingIds(skipped);
+        }
+        permissionCache.evictList(listId);
+        if (!written.isEmpty()) {
+            collaboratorsChanged(listId);
+        }
+
+        List<CollaboratorShareResult> results = new ArrayList<>(canEditByUserId.size());
+        for (Map.Entry<UUID, Boolean> entry : canEditByUserId.entrySet()) {
+            UUID userId = entry.getKey();
+            Boolean inserted = written.get(userId);
+            CollaboratorShareOutcome outcome;
+            if (inserted != null) {
+                outcome = inserted ? CollaboratorShareOutcome.CREATED : CollaboratorShareOutcome.UPDATED;
+            } else {
+                outcome = existingUsers.contains(userId) ? CollaboratorShareOutcome.OWNER_UNCHANGED : CollaboratorShareOutcome.USER_NOT_FOUND;
+            }
+            results.add(CollaboratorShareResult.builder()
+                    .userId(userId)
+                    .outcome(outcome)
+                    .isEditable(inserted != null ? entry.getValue() : null)
+                    .build());
+        }
+        return results;
+    }
+
+    private void collaboratorsChanged(UUID listId) {
+        eventPublisher.publishEvent(new TodoListChangedEvent(listId, TodoListChangeType.COLLABORATORS));
+    }
+
+    /**
+     * Maps the public sort keys onto the joined query's aliases, with the user id as a stable tie-breaker.
+     */
+    private static Pageable toCollaboratorPageable(Pageable pageable) {
+        Sort sort = JpaSort.unsafe(Sort.Direction.ASC, "u.name");
+        if (pageable.getSort().isSorted()) {
+            sort = Sort.unsorted();
+            for (Sort.Order order : pageable.getSort()) {
+                String path = COLLABORATOR_SORT_PATHS.get(order.getProperty());
+                if (path == null) {
+                    throw new IllegalArgumentException("Unsupported sort field: " + order.getProperty());
+                }
+                sort = sort.and(JpaSort.unsafe(order.getDirection(), path));
+            }
+        }
+        sort = sort.and(JpaSort.unsafe(Sort.Direction.ASC, "u.id"));
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
     }
 }
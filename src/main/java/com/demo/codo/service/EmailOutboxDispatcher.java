@@ -0,0 +1,113 @@
+package com.demo.codo.service;
+
+import com.demo.codo.entity.EmailOutbox;
+import com.demo.codo.enums.EmailOutboxStatus;
+import com.demo.codo.repository.EmailOutboxRepository;
+import com.demo.codo.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drains the email outbox. Due rows are claimed in batches with SKIP LOCKED, so every node can run the
+ * dispatcher without two of them sending the same email, and are sent outside of any transaction. A failed
+ * send is retried with jittered exponential backoff until max-attempts, after which the row is parked as
+ * DEAD for inspection. Delivery is at least once: a node that dies between sending and reporting back
+ * leaves its rows to be sent again once their lease runs out. Nodes that should not send mail can turn the
+ * dispatcher off with app.email.outbox.dispatcher-enabled.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.email.outbox.dispatcher-enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository repository;
+    private final UserRepository userRepository;
+    private final EmailVerificationService emailVerificationService;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository repository,
+                                 UserRepository userRepository,
+                                 EmailVerificationService emailVerificationService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.email.outbox.lease:5m}") Duration lease,
+                                 @Value("${app.email.outbox.initial-backoff:30s}") Duration initialBackoff,
+                                 @Value("${app.email.outbox.max-backoff:1h}") Duration maxBackoff) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.emailVerificationService = emailVerificationService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.sent = outcomeCounter(meterRegistry, "sent");
+        this.retried = outcomeCounter(meterRegistry, "retried");
+        this.dead = outcomeCounter(meterRegistry, "dead");
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:1s}")
+    public void dispatch() {
+        List<EmailOutbox> claimed;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            claimed = repository.claimDue(now, now.plus(lease), batchSize);
+            claimed.forEach(this::deliver);
+        } while (claimed.size() == batchSize);
+    }
+
+    private void deliver(EmailOutbox email) {
+        try {
+            // A user deleted meanwhile takes its rows along, so a missing user only means a lost race
+            userRepository.findById(email.getUserId()).ifPresent(emailVerificationService::sendVerificationEmail);
+            repository.deleteSent(email.getId());
+            sent.increment();
+        } catch (RuntimeException e) {
+            String error = e.toString();
+            if (email.getAttempts() >= maxAttempts) {
+                repository.markFailed(email.getId(), EmailOutboxStatus.DEAD.name(), LocalDateTime.now(), error);
+                dead.increment();
+                log.error("Giving up on outbox email {} for user {} after {} attempts", email.getId(), email.getUserId(), email.getAttempts(), e);
+            } else {
+                repository.markFailed(email.getId(), EmailOutboxStatus.PENDING.name(), LocalDateTime.now().plus(backoff(email.getAttempts())), error);
+                retried.increment();
+                log.warn("Outbox email {} for user {} failed on attempt {}: {}", email.getId(), email.getUserId(), email.getAttempts(), error);
+            }
+        }
+    }
+
+    // Exponential in the attempt number and capped, with the upper half jittered so failed batches spread out
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(maxBackoff) > 0) {
+            delay = maxBackoff;
+        }
+        long half = delay.toMillis() / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("email.outbox.deliveries")
+                .tag("result", result)
+                .description("Outbox email delivery attempts")
+                .register(meterRegistry);
+    }
+}
@@ -1,12 +1,16 @@
 package com.demo.codo.service;
 
+import com.demo.codo.entity.EmailOutbox;
 import com.demo.codo.entity.User;
+import com.demo.codo.repository.EmailOutboxRepository;
 import com.demo.codo.repository.UserRepository;
+import com.demo.codo.security.AuthenticationCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 
@@ -18,10 +22,24 @@ public class EmailVerificationService {
     private final EmailSender emailSender;
     private final TokenService tokenService;
     private final UserRepository userRepository;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EntityCacheInvalidator entityCacheInvalidator;
+    private final AuthenticationCache authenticationCache;
     
     @Value("${app.base-url}")
     private String baseUrl;
 
+    /**
+     * Queues a verification email in the caller's transaction; {@link EmailOutboxDispatcher} sends it once
+     * that transaction has committed.
+     */
+    public void enqueueVerificationEmail(User user) {
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .userId(user.getId())
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
     public void sendVerificationEmail(User user) {
         if (user.getEmailVerified()) {
             log.debug("User {} already verified, skipping verification email", user.getEmail());
@@ -39,18 +57,18 @@ public class EmailVerificationService {
             log.debug("Token verification failed - invalid or expired token");
             return false;
         }
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) {
+        if (userRepository.markEmailVerified(userId, LocalDateTime.now()) == 1) {
+            // The bulk update skips entity listeners, so other nodes are told about it here
+            entityCacheInvalidator.evict(User.class, userId);
+            authenticationCache.evict(userId);
+            log.info("Email verified successfully for user: {}", userId);
+            return true;
+        }
+        if (!userRepository.existsById(userId)) {
             log.error("User not found, id={}", userId);
             return false;
         }
-        if (user.getEmailVerified()) {
-            log.debug("User {} already verified", user.getEmail());
-            return true;
-        }
-        user.setEmailVerified(true);
-        userRepository.save(user);
-        log.info("Email verified successfully for user: {}", user.getEmail());
+        log.debug("User {} already verified", userId);
         return true;
     }
 }
@@ -0,0 +1,36 @@
+package com.demo.codo.service;
+
+import com.demo.codo.entity.TodoList;
+import com.demo.codo.entity.User;
+import com.demo.codo.entity.UserTodoList;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broadcasts second-level cache evictions for entities written through the persistence context. Hibernate
+ * already keeps this node's cache current for those writes; the other nodes only learn about them here.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheInvalidationListener {
+
+    // Resolved lazily: Hibernate instantiates entity listeners while the EntityManagerFactory is still being built
+    private final ObjectProvider<EntityCacheInvalidator> invalidator;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onEntityChanged(Object entity) {
+        if (entity instanceof TodoList todoList) {
+            invalidator.ifAvailable(cache -> cache.evict(TodoList.class, todoList.getId()));
+        } else if (entity instanceof UserTodoList userTodoList) {
+            invalidator.ifAvailable(cache -> cache.evict(UserTodoList.class, userTodoList.getId()));
+        } else if (entity instanceof User user) {
+            invalidator.ifAvailable(cache -> cache.evict(User.class, user.getId()));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.demo.codo.service;
+
+import com.demo.codo.entity.TodoList;
+import com.demo.codo.entity.User;
+import com.demo.codo.entity.UserTodoList;
+import com.demo.codo.event.TodoListChangedEvent;
+import com.demo.codo.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the Hibernate second-level cache of every node in step with the database. The cache is local to
+ * each node, so after a write commits the affected entries are evicted here and the eviction is broadcast
+ * over pub/sub for the other nodes to apply. Writes that bypass the persistence context (native RETURNING
+ * updates, JDBC upserts) are covered through the list change events. Delivery is best-effort; region TTLs
+ * in ehcache.xml bound staleness if a message is lost.
+ */
+@Component
+@Slf4j
+public class EntityCacheInvalidator implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "entity_cache_invalidation";
+
+    private static final Map<String, Class<?>> CACHED_ENTITIES = Stream.of(TodoList.class, UserTodoList.class, User.class)
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache cache;
+
+    public EntityCacheInvalidator(RedisTemplate<String, String> redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  EntityManagerFactory entityManagerFactory) {
+        this.redisTemplate = redisTemplate;
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * Evicts one cached entity on every node once the current transaction commits, or right away outside
+     * of a transaction.
+     */
+    public void evict(Class<?> entityClass, UUID id) {
+        afterCommit(() -> evictNow(entityClass, id));
+    }
+
+    /**
+     * Evicts a whole entity region on every node, for writes whose affected rows are not known.
+     */
+    public void evictAll(Class<?> entityClass) {
+        afterCommit(() -> evictNow(entityClass, null));
+    }
+
+    // Already past the commit here, so evictions apply immediately
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(TodoListChangedEvent event) {
+        switch (event.type()) {
+            case LIST -> evictNow(TodoList.class, event.listId());
+            // Memberships are written in bulk by list, their row ids are not at hand
+            case COLLABORATORS -> evictNow(UserTodoList.class, null);
+            case DELETED -> {
+                evictNow(TodoList.class, event.listId());
+                evictNow(UserTodoList.class, null);
+            }
+            default -> {
+                // Items are not cached
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            int separator = body.indexOf(':');
+            String entityName = separator < 0 ? body : body.substring(0, separator);
+            Class<?> entityClass = CACHED_ENTITIES.get(entityName);
+            if (entityClass == null) {
+                throw new IllegalArgumentException("Unknown entity " + entityName);
+            }
+            evictLocal(entityClass, separator < 0 ? null : UUID.fromString(body.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed entity cache invalidation message: {}", body);
+        }
+    }
+
+    private void evictNow(Class<?> entityClass, UUID id) {
+        evictLocal(entityClass, id);
+        publish(id == null ? entityClass.getSimpleName() : entityClass.getSimpleName() + ":" + id);
+    }
+
+    private void evictLocal(Class<?> entityClass, UUID id) {
+        if (id == null) {
+            cache.evictEntityData(entityClass);
+        } else {
+            cache.evictEntityData(entityClass, id);
+        }
+        if (entityClass == User.class) {
+            // The timestamps region that guards cached queries is per node, so remote writes must drop them here
+            cache.evictQueryRegion(UserRepository.USER_BY_EMAIL_REGION);
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast entity cache invalidation {}", message, e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package com.demo.codo.service;
+
+import com.demo.codo.entity.UserTodoList;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache of (userId, listId) -> permission bits. Each node keeps a bounded in-process near-cache
+ * in front of a per-list Redis hash. Writes evict both tiers once their transaction commits and broadcast
+ * the eviction over pub/sub so every node drops its near-cache entry. A per-list generation counter is
+ * raised on each eviction and checked atomically on store, so a grant loaded before a write committed can
+ * never be put back into Redis after it. The near-cache TTL bounds staleness if a message is lost; the
+ * Redis hash expires redis-ttl after it was created, and later misses never extend it.
+ */
+@Component
+@Slf4j
+public class ListPermissionCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "list_permission_invalidation";
+    public static final int NONE = 0;
+    public static final int READ = 1;
+    public static final int EDIT = 1 << 1;
+    public static final int OWNER = 1 << 2;
+
+    private static final String KEY_PREFIX = "list_permission:";
+    private static final String GENERATION_KEY_PREFIX = "list_permission_generation:";
+    private static final String INITIAL_GENERATION = "0";
+    private static final String CACHE_NAME = "list_permission";
+
+    // KEYS: per-list hash, generation; ARGV: generation seen before loading, user id, bits, ttl millis.
+    // Only a new hash gets a TTL, so no field outlives it
+    private static final RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('HSET', KEYS[1], ARGV[2], ARGV[3]) " +
+            "if redis.call('PTTL', KEYS[1]) < 0 then redis.call('PEXPIRE', KEYS[1], ARGV[4]) end " +
+            "return 1", Long.class);
+
+    // KEYS: per-list hash, generation; ARGV: ttl millis, user id (absent to drop the whole list)
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[1]) " +
+            "if ARGV[2] then return redis.call('HDEL', KEYS[1], ARGV[2]) end " +
+            "return redis.call('DEL', KEYS[1])", Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<PermissionKey, Integer> nearCache;
+    private final Duration redisTtl;
+
+    public ListPermissionCache(RedisTemplate<String, String> redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.security.permission-cache.near-ttl:30s}") Duration nearTtl,
+                               @Value("${app.security.permission-cache.near-max-size:100000}") long nearMaxSize,
+                               @Value("${app.security.permission-cache.redis-ttl:5m}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.redisTtl = redisTtl;
+        this.nearCache = Caffeine.newBuilder()
+                .expireAfterWrite(nearTtl)
+                .maximumSize(nearMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, CACHE_NAME);
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public static int toBits(UserTodoList userTodoList) {
+        int bits = READ;
+        if (userTodoList.getIsOwner() || userTodoList.getIsEditable()) {
+            bits |= EDIT;
+        }
+        if (userTodoList.getIsOwner()) {
+            bits |= OWNER;
+        }
+        return bits;
+    }
+
+    public int get(UUID userId, UUID listId, Supplier<Integer> loader) {
+        return nearCache.get(new PermissionKey(userId, listId), key -> {
+            String redisKey = KEY_PREFIX + listId;
+            String generationKey = GENERATION_KEY_PREFIX + listId;
+            Object cached = redisTemplate.opsForHash().get(redisKey, userId.toString());
+            if (cached != null) {
+                return Integer.parseInt(cached.toString());
+            }
+            String generation = redisTemplate.opsForValue().get(generationKey);
+            Integer bits = loader.get();
+            redisTemplate.execute(STORE_SCRIPT, List.of(redisKey, generationKey),
+                    generation == null ? INITIAL_GENERATION : generation, userId.toString(), bits.toString(),
+                    String.valueOf(redisTtl.toMillis()));
+            return bits;
+        });
+    }
+
+    /**
+     * Drops a user's cached permission on a list on every node, after the current transaction commits.
+     */
+    public void evict(UUID listId, UUID userId) {
+        afterCommit(() -> {
+            redisTemplate.execute(EVICT_SCRIPT, List.of(KEY_PREFIX + listId, GENERATION_KEY_PREFIX + listId),
+                    String.valueOf(redisTtl.toMillis()), userId.toString());
+            nearCache.invalidate(new PermissionKey(userId, listId));
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, listId + ":" + userId);
+        });
+    }
+
+    /**
+     * Drops every cached permission on a list on every node, after the current transaction commits.
+     */
+    public void evictList(UUID listId) {
+        afterCommit(() -> {
+            redisTemplate.execute(EVICT_SCRIPT, List.of(KEY_PREFIX + listId, GENERATION_KEY_PREFIX + listId),
+                    String.valueOf(redisTtl.toMillis()));
+            evictLocal(listId);
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, listId.toString());
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            int separator = body.indexOf(':');
+            if (separator < 0) {
+                evictLocal(UUID.fromString(body));
+            } else {
+                UUID listId = UUID.fromString(body.substring(0, separator));
+                UUID userId = UUID.fromString(body.substring(separator + 1));
+                nearCache.invalidate(new PermissionKey(userId, listId));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed permission invalidation message: {}", body);
+        }
+    }
+
+    private void evictLocal(UUID listId) {
+        nearCache.asMap().keySet().removeIf(key -> key.listId().equals(listId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record PermissionKey(UUID userId, UUID listId) {
+    }
+}
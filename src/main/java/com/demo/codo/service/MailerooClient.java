@@ -1,32 +1,112 @@
 package com.demo.codo.service;
 
+import com.demo.codo.exception.EmailDeliveryException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends verification emails through the Maileroo API. Connections are pooled and kept alive, every phase
+ * of a call is time-bounded, and at most max-concurrent calls are in flight. Timeouts, 5xx and 429 answers
+ * are retried with jittered backoff; after failure-threshold consecutive failures the circuit opens and
+ * calls fail fast for open-duration before a single trial call is let through. Client errors neither
+ * retry nor count against the circuit, since they say nothing about the provider's health.
+ */
 @Service
 @Slf4j
 @ConditionalOnProperty(name = "maileroo.mock.enabled", havingValue = "false", matchIfMissing = true)
 public class MailerooClient implements EmailSender {
 
+    private static final String METRIC_NAME = "maileroo.requests";
+
     private final RestTemplate restTemplate;
+    private final CloseableHttpClient httpClient;
     private final String fromEmail;
     private final String apiToken;
-    private static final String MAILEROO_API_URL = "https://smtp.maileroo.com/send";
+    private final String apiUrl;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
 
     public MailerooClient(@Value("${maileroo.api.token}") String apiToken,
-                         @Value("${maileroo.from.email}") String fromEmail) {
+                          @Value("${maileroo.from.email}") String fromEmail,
+                          @Value("${maileroo.api.url:https://smtp.maileroo.com/send}") String apiUrl,
+                          @Value("${maileroo.http.connect-timeout:2s}") Duration connectTimeout,
+                          @Value("${maileroo.http.response-timeout:10s}") Duration responseTimeout,
+                          @Value("${maileroo.http.max-connections:20}") int maxConnections,
+                          @Value("${maileroo.http.max-concurrent:10}") int maxConcurrent,
+                          @Value("${maileroo.http.acquire-timeout:1s}") Duration acquireTimeout,
+                          @Value("${maileroo.retry.max-attempts:3}") int maxAttempts,
+                          @Value("${maileroo.retry.backoff:200ms}") Duration retryBackoff,
+                          @Value("${maileroo.circuit.failure-threshold:5}") int failureThreshold,
+                          @Value("${maileroo.circuit.open-duration:30s}") Duration openDuration,
+                          MeterRegistry meterRegistry) {
         this.apiToken = apiToken;
         this.fromEmail = fromEmail;
-        this.restTemplate = new RestTemplate();
+        this.apiUrl = apiUrl;
+        this.acquireTimeout = acquireTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(maxConcurrent);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections)
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.of(connectTimeout))
+                                .setSocketTimeout(Timeout.of(responseTimeout))
+                                .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Waiting for a pooled connection is bounded as well; permits normally keep it at zero
+                        .setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                // Retries are ours: only on failures worth retrying, with backoff, and visible to the circuit
+                .disableAutomaticRetries()
+                .build();
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        Gauge.builder("maileroo.circuit.open", circuitBreaker, breaker -> breaker.isOpen() ? 1 : 0)
+                .description("Whether calls to Maileroo are currently short-circuited")
+                .register(meterRegistry);
         log.info("MailerooClient initialized with from email: {}", fromEmail);
     }
 
@@ -50,14 +130,86 @@ public class MailerooClient implements EmailSender {
 
         log.info("Sending verification email to: {} via Maileroo API", toEmail);
 
-        ResponseEntity<String> response = restTemplate.postForEntity(MAILEROO_API_URL, request, String.class);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ResponseEntity<String> response = send(request);
+                log.info("Verification email sent successfully to: {} - Response: {}", toEmail, response.getBody());
+                return;
+            } catch (RetryableException e) {
+                if (attempt >= maxAttempts) {
+                    throw new EmailDeliveryException("Failed to send verification email after " + attempt + " attempts", e.getCause());
+                }
+                log.warn("Attempt {} to send verification email to: {} failed: {}", attempt, toEmail, e.getCause().getMessage());
+                pause(attempt);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    private ResponseEntity<String> send(HttpEntity<MultiValueMap<String, String>> request) {
+        if (!circuitBreaker.tryAcquire()) {
+            record("short_circuited", Timer.start(meterRegistry));
+            throw new EmailDeliveryException("Maileroo circuit is open, not sending");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                circuitBreaker.release();
+                record("rejected", Timer.start(meterRegistry));
+                throw new EmailDeliveryException("Too many concurrent Maileroo calls");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.release();
+            throw new EmailDeliveryException("Interrupted while waiting to call Maileroo", e);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            ResponseEntity<String> response = restTemplate.postForEntity(apiUrl, request, String.class);
+            circuitBreaker.onSuccess();
+            record("success", sample);
+            return response;
+        } catch (HttpStatusCodeException e) {
+            boolean retryable = e.getStatusCode().is5xxServerError() || e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+            record(e.getStatusCode().is5xxServerError() ? "server_error" : "client_error", sample);
+            if (!retryable) {
+                circuitBreaker.release();
+                log.error("Maileroo rejected the request - Status: {} - Response: {}", e.getStatusCode(), e.getResponseBodyAsString());
+                throw new EmailDeliveryException("Failed to send verification email - Status: " + e.getStatusCode(), e);
+            }
+            circuitBreaker.onFailure();
+            throw new RetryableException(e);
+        } catch (ResourceAccessException e) {
+            record(e.getCause() instanceof InterruptedIOException ? "timeout" : "io_error", sample);
+            circuitBreaker.onFailure();
+            throw new RetryableException(e);
+        } catch (RestClientException e) {
+            record("error", sample);
+            circuitBreaker.onFailure();
+            throw new EmailDeliveryException("Failed to send verification email", e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void record(String outcome, Timer.Sample sample) {
+        sample.stop(Timer.builder(METRIC_NAME)
+                .tag("outcome", outcome)
+                .description("Maileroo API calls")
+                .register(meterRegistry));
+    }
 
-        if (response.getStatusCode().is2xxSuccessful()) {
-            log.info("Verification email sent successfully to: {} - Response: {}", toEmail, response.getBody());
-        } else {
-            log.error("Failed to send verification email to: {} - Status: {} - Response: {}",
-                    toEmail, response.getStatusCode(), response.getBody());
-            throw new RuntimeException("Failed to send verification email - Status: " + response.getStatusCode());
+    private void pause(int attempt) {
+        long delay = retryBackoff.toMillis() << (attempt - 1);
+        try {
+            Thread.sleep(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmailDeliveryException("Interrupted while retrying Maileroo call", e);
         }
     }
 
@@ -87,4 +239,66 @@ public class MailerooClient implements EmailSender {
             This link will expire in 1 minute.
             """, verificationLink);
     }
+
+    private static final class RetryableException extends RuntimeException {
+        private RetryableException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Consecutive-failure circuit. While open, calls are refused until openDuration has passed; then a
+     * single trial call is let through and its outcome closes or reopens the circuit.
+     */
+    static final class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openNanos;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean open;
+        private boolean trialInFlight;
+
+        CircuitBreaker(int failureThreshold, Duration openDuration) {
+            this.failureThreshold = failureThreshold;
+            this.openNanos = openDuration.toNanos();
+        }
+
+        synchronized boolean tryAcquire() {
+            if (!open) {
+                return true;
+            }
+            if (trialInFlight || System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+
+        // The call ended without saying anything about the provider's health
+        synchronized void release() {
+            trialInFlight = false;
+        }
+
+        synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            open = false;
+            trialInFlight = false;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            if (trialInFlight || consecutiveFailures >= failureThreshold) {
+                if (!open) {
+                    log.warn("Opening Maileroo circuit after {} consecutive failures", consecutiveFailures);
+                }
+                open = true;
+                openedAt = System.nanoTime();
+            }
+            trialInFlight = false;
+        }
+
+        synchronized boolean isOpen() {
+            return open;
+        }
+    }
 }
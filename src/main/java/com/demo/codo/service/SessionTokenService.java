@@ -0,0 +1,114 @@
+package com.demo.codo.service;
+
+import com.demo.codo.security.CustomUserDetailsService.CustomUserDetails;
+import com.demo.codo.util.HashUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Opaque session tokens stored hashed in Redis. A token resolves to its principal with a single
+ * GETEX, which also slides the idle expiry, so authenticated requests never touch the database.
+ * The per-user token set is extended alongside, so it never expires before the tokens it indexes
+ * and {@link #revokeAll} still finds every live session.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SessionTokenService {
+
+    private static final String TOKEN_PREFIX = "session_token:";
+    private static final String USER_TOKENS_PREFIX = "session_tokens:";
+    private static final int TOKEN_LENGTH = 32;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.security.session-token.ttl:30m}")
+    private Duration tokenExpiry;
+
+    public String issue(CustomUserDetails userDetails) {
+        byte[] tokenBytes = new byte[TOKEN_LENGTH];
+        secureRandom.nextBytes(tokenBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        String hashedToken = HashUtil.sha256Hex(token);
+
+        SessionPrincipal principal = new SessionPrincipal(userDetails.getId(), userDetails.getName(), userDetails.getUsername());
+        redisTemplate.opsForValue().set(TOKEN_PREFIX + hashedToken, serialize(principal), tokenExpiry);
+
+        String userTokensKey = USER_TOKENS_PREFIX + userDetails.getId();
+        redisTemplate.opsForSet().add(userTokensKey, hashedToken);
+        redisTemplate.expire(userTokensKey, tokenExpiry);
+
+        log.info("Issued session token for user: {}", userDetails.getId());
+        return token;
+    }
+
+    public CustomUserDetails authenticate(String token) {
+        String value = redisTemplate.opsForValue().getAndExpire(TOKEN_PREFIX + HashUtil.sha256Hex(token), tokenExpiry);
+        if (value == null) {
+            return null;
+        }
+        SessionPrincipal principal = deserialize(value);
+        redisTemplate.expire(USER_TOKENS_PREFIX + principal.id(), tokenExpiry);
+        return CustomUserDetails.builder()
+                .id(principal.id())
+                .name(principal.name())
+                .email(principal.email())
+                .build();
+    }
+
+    public void revoke(String token) {
+        String hashedToken = HashUtil.sha256Hex(token);
+        String value = redisTemplate.opsForValue().getAndDelete(TOKEN_PREFIX + hashedToken);
+        if (value != null) {
+            UUID userId = deserialize(value).id();
+            redisTemplate.opsForSet().remove(USER_TOKENS_PREFIX + userId, hashedToken);
+            log.info("Revoked session token for user: {}", userId);
+        }
+    }
+
+    public void revokeAll(UUID userId) {
+        String userTokensKey = USER_TOKENS_PREFIX + userId;
+        Set<String> hashedTokens = redisTemplate.opsForSet().members(userTokensKey);
+        if (hashedTokens != null && !hashedTokens.isEmpty()) {
+            redisTemplate.delete(hashedTokens.stream().map(hashedToken -> TOKEN_PREFIX + hashedToken).toList());
+        }
+        redisTemplate.delete(userTokensKey);
+        log.info("Revoked all session tokens for user: {}", userId);
+    }
+
+    public Duration getTokenExpiry() {
+        return tokenExpiry;
+    }
+
+    private String serialize(SessionPrincipal principal) {
+        try {
+            return objectMapper.writeValueAsString(principal);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize session principal", e);
+        }
+    }
+
+    private SessionPrincipal deserialize(String value) {
+        try {
+            return objectMapper.readValue(value, SessionPrincipal.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize session principal", e);
+        }
+    }
+
+    record SessionPrincipal(UUID id, String name, String email) {
+    }
+}
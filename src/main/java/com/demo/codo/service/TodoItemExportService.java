@@ -0,0 +1,139 @@
+package com.demo.codo.service;
+
+import com.demo.codo.dto.TodoItemResponse;
+import com.demo.codo.enums.ExportFormat;
+import com.demo.codo.enums.TodoItemStatus;
+import com.demo.codo.util.CsvUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams a list's items ordered by id straight from a server-side cursor, so memory use does not grow with
+ * the list. Clients resume an interrupted export by passing the last id they received.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoItemExportService {
+    private static final String[] CSV_HEADER = {"id", "listId", "name", "description", "dueDate", "status", "createdAt", "updatedAt"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.todo.export.fetch-size:500}")
+    private int fetchSize;
+
+    public void export(UUID listId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo, UUID afterId,
+                       ExportFormat format, OutputStream outputStream) throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, list_id, name, description, due_date, status, version, created_at, updated_at FROM todo_item WHERE list_id = ?");
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(listId);
+        if (status != null) {
+            sql.append(" AND status = ?");
+            parameters.add(status.name());
+        }
+        if (dueDateFrom != null) {
+            sql.append(" AND due_date >= ?");
+            parameters.add(Date.valueOf(dueDateFrom));
+        }
+        if (dueDateTo != null) {
+            sql.append(" AND due_date <= ?");
+            parameters.add(Date.valueOf(dueDateTo));
+        }
+        if (afterId != null) {
+            sql.append(" AND id > ?");
+            parameters.add(afterId);
+        }
+        sql.append(" ORDER BY id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CsvUtil.row(CSV_HEADER));
+            writer.write('\n');
+        }
+
+        // PostgreSQL only honours the fetch size inside a transaction; otherwise the whole result is buffered
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(ignored -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                return statement;
+            }, (RowCallbackHandler) resultSet -> writeRow(toResponse(resultSet), format, writer)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeRow(TodoItemResponse item, ExportFormat format, Writer writer) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(CsvUtil.row(
+                        item.getId().toString(),
+                        item.getListId().toString(),
+                        item.getName(),
+                        item.getDescription(),
+                        item.getDueDate() == null ? null : item.getDueDate().toString(),
+                        item.getStatus() == null ? null : item.getStatus().name(),
+                        item.getCreatedAt().toString(),
+                        item.getUpdatedAt().toString()));
+            } else {
+                writer.write(objectMapper.writeValueAsString(item));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TodoItemResponse toResponse(ResultSet resultSet) throws SQLException {
+        Date dueDate = resultSet.getDate("due_date");
+        String status = resultSet.getString("status");
+        return TodoItemResponse.builder()
+                .id(resultSet.getObject("id", UUID.class))
+                .listId(resultSet.getObject("list_id", UUID.class))
+                .name(resultSet.getString("name"))
+                .description(resultSet.getString("description"))
+                .dueDate(dueDate == null ? null : dueDate.toLocalDate())
+                .status(status == null ? null : TodoItemStatus.valueOf(status))
+                .version(resultSet.getLong("version"))
+                .createdAt(toLocalDateTime(resultSet.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(resultSet.getTimestamp("updated_at")))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
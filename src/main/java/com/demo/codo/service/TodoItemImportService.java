@@ -0,0 +1,236 @@
+package com.demo.codo.service;
+
+import com.demo.codo.dto.TodoItemImportRejection;
+import com.demo.codo.dto.TodoItemImportSummary;
+import com.demo.codo.dto.TodoItemRequest;
+import com.demo.codo.enums.ExportFormat;
+import com.demo.codo.enums.TodoItemStatus;
+import com.demo.codo.enums.TodoListChangeType;
+import com.demo.codo.event.TodoListChangedEvent;
+import com.demo.codo.util.CsvUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Imports items in bulk without going through JPA. Rows are parsed and validated one at a time against the
+ * {@link TodoItemRequest} constraints; valid rows are streamed with COPY into a temporary staging table and
+ * merged into todo_item with a single INSERT ... SELECT, while rejected rows are written to the report as they
+ * are found. Only one row is held in memory at a time.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoItemImportService {
+    private static final String CREATE_STAGING_TABLE = "CREATE TEMP TABLE todo_item_import " +
+            "(name VARCHAR(255), description TEXT, due_date DATE, status VARCHAR(50)) ON COMMIT DROP";
+    private static final String COPY_STAGING_TABLE = "COPY todo_item_import (name, description, due_date, status) " +
+            "FROM STDIN WITH (FORMAT csv)";
+    private static final String MERGE_STAGING_TABLE = "INSERT INTO todo_item (list_id, name, description, due_date, status) " +
+            "SELECT ?, name, description, due_date, status FROM todo_item_import";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.todo.import.max-row-length:65536}")
+    private int maxRowLength;
+
+    @Value("${app.todo.import.copy-buffer-size:65536}")
+    private int copyBufferSize;
+
+    public TodoItemImportSummary importItems(UUID listId, ExportFormat format, InputStream inputStream,
+                                             OutputStream reportStream) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        Writer report = new BufferedWriter(new OutputStreamWriter(reportStream, StandardCharsets.UTF_8));
+        RowReader rows = format == ExportFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        TodoItemImportSummary summary;
+        try {
+            summary = transaction.execute(ignored -> jdbcTemplate.execute(
+                    (ConnectionCallback<TodoItemImportSummary>) connection -> copyAndMerge(connection, listId, rows, report)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (summary.getImported() > 0) {
+            eventPublisher.publishEvent(new TodoListChangedEvent(listId, TodoListChangeType.ITEMS));
+        }
+        report.write(objectMapper.writeValueAsString(summary));
+        report.write('\n');
+        report.flush();
+        return summary;
+    }
+
+    private TodoItemImportSummary copyAndMerge(Connection connection, UUID listId, RowReader rows, Writer report)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_TABLE);
+        }
+
+        PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_STAGING_TABLE, copyBufferSize);
+        long rejected = 0;
+        try {
+            Writer staging = new OutputStreamWriter(copy, StandardCharsets.UTF_8);
+            long rowNumber = 0;
+            Row row;
+            while ((row = rows.next()) != null) {
+                rowNumber++;
+                String error = row.error() != null ? row.error() : violations(validator.validate(row.item()));
+                if (error != null) {
+                    rejected++;
+                    report.write(objectMapper.writeValueAsString(new TodoItemImportRejection(rowNumber, error)));
+                    report.write('\n');
+                    continue;
+                }
+                TodoItemRequest item = row.item();
+                staging.write(CsvUtil.row(
+                        item.getName(),
+                        item.getDescription(),
+                        item.getDueDate() == null ? null : item.getDueDate().toString(),
+                        item.getStatus().name()));
+                staging.write('\n');
+            }
+            staging.flush();
+            copy.endCopy();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            // Leaves the connection usable for the rollback if reading the upload failed mid-copy
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+
+        try (PreparedStatement merge = connection.prepareStatement(MERGE_STAGING_TABLE)) {
+            merge.setObject(1, listId);
+            return new TodoItemImportSummary(merge.executeUpdate(), rejected);
+        }
+    }
+
+    private RowReader ndjsonRows(BufferedReader reader) {
+        return () -> {
+            String line;
+            do {
+                line = readLine(reader);
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try {
+                return new Row(objectMapper.readValue(line, TodoItemRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(null, "Malformed JSON");
+            }
+        };
+    }
+
+    private RowReader csvRows(BufferedReader reader) throws IOException {
+        List<String> header = CsvUtil.readRow(reader, maxRowLength);
+        if (header == null || !header.contains("name")) {
+            throw new IllegalArgumentException("CSV header with a name column is required");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i), i);
+        }
+        return () -> {
+            List<String> fields;
+            do {
+                fields = CsvUtil.readRow(reader, maxRowLength);
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.stream().allMatch(Objects::isNull));
+            String dueDate = column(fields, columns, "dueDate");
+            String status = column(fields, columns, "status");
+            try {
+                return new Row(TodoItemRequest.builder()
+                        .name(column(fields, columns, "name"))
+                        .description(column(fields, columns, "description"))
+                        .dueDate(dueDate == null ? null : LocalDate.parse(dueDate))
+                        .status(status == null ? null : TodoItemStatus.valueOf(status))
+                        .build(), null);
+            } catch (DateTimeParseException e) {
+                return new Row(null, "dueDate: Invalid date " + dueDate);
+            } catch (IllegalArgumentException e) {
+                return new Row(null, "status: Invalid status " + status);
+            }
+        };
+    }
+
+    private String readLine(BufferedReader reader) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (line.length() == maxRowLength) {
+                throw new IllegalArgumentException("NDJSON line exceeds " + maxRowLength + " characters");
+            }
+            line.append((char) c);
+            c = reader.read();
+        }
+        return line.toString();
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private static String violations(Set<ConstraintViolation<TodoItemRequest>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private record Row(TodoItemRequest item, String error) {
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        Row next() throws IOException;
+    }
+}
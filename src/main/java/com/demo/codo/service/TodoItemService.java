@@ -1,12 +1,19 @@
 package com.demo.codo.service;
 
+import com.demo.codo.dto.CursorPage;
+import com.demo.codo.dto.TodoItemBatchResult;
+import com.demo.codo.dto.TodoItemChangeSet;
 import com.demo.codo.dto.TodoItemDto;
+import com.demo.codo.dto.TodoItemOperation;
 import com.demo.codo.dto.TodoItemRequest;
+import com.demo.codo.dto.TodoItemSearchHit;
 import com.demo.codo.enums.TodoItemStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,10 +22,39 @@ public interface TodoItemService {
     TodoItemDto create(UUID listId, TodoItemRequest request);
 
     Page<TodoItemDto> getAll(UUID listId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo, Pageable pageable);
+
+    CursorPage<TodoItemDto> getAll(UUID listId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo,
+                                   String sort, String cursor, int size);
     
+    CursorPage<TodoItemDto> getAccessible(TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo,
+                                          String cursor, int size);
+
+    TodoItemChangeSet<TodoItemDto> getChanges(UUID listId, long since, String cursor, int size);
+
+    Slice<TodoItemSearchHit<TodoItemDto>> search(UUID listId, String query, TodoItemStatus status,
+                                                 LocalDate dueDateFrom, LocalDate dueDateTo, Pageable pageable);
+
+    Slice<TodoItemSearchHit<TodoItemDto>> searchAccessible(String query, TodoItemStatus status,
+                                                           LocalDate dueDateFrom, LocalDate dueDateTo, Pageable pageable);
+
     Optional<TodoItemDto> find(UUID listId, UUID id);
 
-    TodoItemDto update(UUID listId, UUID id, TodoItemRequest request);
+    /**
+     * Current version of an item, checked for access like {@link #find} but without loading the item.
+     */
+    Optional<Long> findVersion(UUID listId, UUID id);
+
+    /**
+     * @param expectedVersion version the client last saw, or null to update unconditionally
+     * @throws com.demo.codo.exception.PreconditionFailedException if the item has moved past expectedVersion
+     */
+    TodoItemDto update(UUID listId, UUID id, TodoItemRequest request, Long expectedVersion);
 
     void delete(UUID listId, UUID id);
+
+    TodoItemBatchResult<TodoItemDto> applyBatch(UUID listId, List<TodoItemOperation> operations);
+
+    long updateStatus(UUID listId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo, TodoItemStatus newStatus);
+
+    long deleteAll(UUID listId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo);
 }
@@ -1,79 +1,423 @@
 package com.demo.codo.service;
 
+import com.demo.codo.dto.CursorPage;
+import com.demo.codo.dto.TodoItemBatchResult;
+import com.demo.codo.dto.TodoItemChangeSet;
 import com.demo.codo.dto.TodoItemDto;
+import com.demo.codo.dto.TodoItemOperation;
+import com.demo.codo.dto.TodoItemOperationResult;
 import com.demo.codo.dto.TodoItemRequest;
+import com.demo.codo.dto.TodoItemSearchHit;
 import com.demo.codo.entity.TodoItem;
 import com.demo.codo.entity.TodoList;
+import com.demo.codo.enums.TodoItemOperationType;
+import com.demo.codo.enums.TodoItemSortField;
 import com.demo.codo.enums.TodoItemStatus;
+import com.demo.codo.enums.TodoListChangeType;
+import com.demo.codo.event.TodoListChangedEvent;
 import com.demo.codo.exception.NotFoundException;
+import com.demo.codo.exception.PreconditionFailedException;
+import com.demo.codo.exception.SyncExpiredException;
 import com.demo.codo.mapper.TodoItemMapper;
 import com.demo.codo.repository.TodoItemRepository;
+import com.demo.codo.repository.TodoItemSpecifications;
 import com.demo.codo.repository.TodoListRepository;
+import com.demo.codo.repository.projection.TodoItemChange;
+import com.demo.codo.repository.projection.TodoItemLookup;
+import com.demo.codo.repository.projection.TodoItemSearchMatch;
+import com.demo.codo.repository.projection.TodoItemVersionLookup;
+import com.demo.codo.repository.projection.TodoListVersionView;
+import com.demo.codo.util.CursorUtil;
+import com.demo.codo.util.SecurityUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TodoItemServiceImpl implements TodoItemService {
+    // Starting position that skips every change at the client's own version
+    private static final UUID MAX_UUID = new UUID(-1L, -1L);
+
     private final TodoItemRepository repository;
     private final TodoListRepository todoListRepository;
     private final TodoItemMapper mapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.todo.batch.max-operations:1000}")
+    private int maxBatchOperations;
 
     @Override
+    @Transactional
     public TodoItemDto create(UUID listId, TodoItemRequest request) {
-        TodoList todoList = getTodoList(listId);
+        // Only the list_id column is written, so the parent list is never loaded
         TodoItem newItem = TodoItem.builder()
                 .name(request.getName())
                 .description(request.getDescription())
                 .dueDate(request.getDueDate())
                 .status(request.getStatus())
                 .listId(listId)
-                .todoList(todoList)
                 .build();
         TodoItem savedItem = repository.save(newItem);
+        itemsChanged(listId);
         return mapper.toDto(savedItem);
     }
 
     @Override
     public Page<TodoItemDto> getAll(UUID listId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo, Pageable pageable) {
         getTodoList(listId);
-        Specification<TodoItem> spec = (root, query, criteriaBuilder) -> 
-            criteriaBuilder.equal(root.get("todoList").get("id"), listId);
-            
-        if (status != null) {
-            spec = spec.and((root, query, criteriaBuilder) -> 
-                criteriaBuilder.equal(root.get("status"), status));
-        }
-        if (dueDateFrom != null) {
-            spec = spec.and((root, query, criteriaBuilder) -> 
-                criteriaBuilder.greaterThanOrEqualTo(root.get("dueDate"), dueDateFrom));
-        }
-        if (dueDateTo != null) {
-            spec = spec.and((root, query, criteriaBuilder) -> 
-                criteriaBuilder.lessThanOrEqualTo(root.get("dueDate"), dueDateTo));
-        }
+        Specification<TodoItem> spec = TodoItemSpecifications.filter(listId, status, dueDateFrom, dueDateTo);
         Page<TodoItem> items = repository.findAll(spec, pageable);
         return items.map(mapper::toDto);
     }
 
     @Override
-    public Optional<TodoItemDto> find(UUID listId, UUID id) {
+    public CursorPage<TodoItemDto> getAll(UUID listId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo,
+                                          String sort, String cursor, int size) {
         getTodoList(listId);
-        return repository.findByIdAndTodoListId(id, listId).map(mapper::toDto);
+        String[] sortParts = sort.split(",", -1);
+        if (sortParts.length > 2) {
+            throw new IllegalArgumentException("Invalid sort: " + sort);
+        }
+        TodoItemSortField field = TodoItemSortField.fromProperty(sortParts[0].trim());
+        Sort.Direction direction = sortParts.length == 2
+                ? Sort.Direction.fromOptionalString(sortParts[1].trim())
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction: " + sortParts[1]))
+                : Sort.Direction.ASC;
+
+        Specification<TodoItem> spec = TodoItemSpecifications.filter(listId, status, dueDateFrom, dueDateTo);
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = CursorUtil.decode(cursor, 4);
+            if (!field.name().equals(position[0]) || !direction.name().equals(position[1])) {
+                throw new IllegalArgumentException("Cursor does not match sort " + sort);
+            }
+            spec = spec.and(TodoItemSpecifications.after(field, direction, parseCursorValue(field, position[2]), parseCursorId(position[3])));
+        }
+
+        // The id tie-breaker shares the field's direction so both directions can walk the same index
+        Sort order = Sort.by(direction, field.getProperty()).and(Sort.by(direction, "id"));
+        List<TodoItem> items = repository.findBy(spec, query -> query.sortBy(order).limit(size + 1).all());
+
+        boolean hasNext = items.size() > size;
+        List<TodoItem> content = hasNext ? items.subList(0, size) : items;
+        String nextCursor = null;
+        if (hasNext) {
+            TodoItem last = content.get(content.size() - 1);
+            nextCursor = CursorUtil.encode(field.name(), direction.name(), field.format(last), last.getId().toString());
+        }
+
+        return CursorPage.<TodoItemDto>builder()
+                .content(content.stream().map(mapper::toDto).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public CursorPage<TodoItemDto> getAccessible(TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo,
+                                                 String cursor, int size) {
+        UUID userId = requireCurrentUserId();
+        LocalDate afterDueDate = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = CursorUtil.decode(cursor, 2);
+            afterDueDate = (LocalDate) parseCursorValue(TodoItemSortField.DUE_DATE, position[0]);
+            afterId = parseCursorId(position[1]);
+            if (afterDueDate == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<TodoItem> items = repository.findAccessibleByDueDate(userId, status,
+                dueDateFrom, dueDateTo, afterDueDate, afterId, size + 1);
+
+        boolean hasNext = items.size() > size;
+        List<TodoItem> content = hasNext ? items.subList(0, size) : items;
+        String nextCursor = null;
+        if (hasNext) {
+            TodoItem last = content.get(content.size() - 1);
+            nextCursor = CursorUtil.encode(last.getDueDate().toString(), last.getId().toString());
+        }
+
+        return CursorPage.<TodoItemDto>builder()
+                .content(content.stream().map(mapper::toDto).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public TodoItemChangeSet<TodoItemDto> getChanges(UUID listId, long since, String cursor, int size) {
+        // Version and changes are read from one snapshot, so the returned version covers exactly what was seen
+        TodoListVersionView version = todoListRepository.findVersion(listId)
+                .orElseThrow(() -> new NotFoundException("Todo list not found, id=" + listId));
+        if (since < 0) {
+            throw new IllegalArgumentException("Since must not be negative");
+        }
+        if (since < version.getTombstoneVersion() || since > version.getChangeVersion()) {
+            throw new SyncExpiredException("Changes since version " + since + " are no longer available, resync the list");
+        }
+
+        // A client that has seen version N skips every row at N. Rows written before change versions existed
+        // sit at 0, so a fresh sync starts below it to include them
+        long afterVersion = since == 0 ? -1 : since;
+        UUID afterId = MAX_UUID;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = CursorUtil.decode(cursor, 2);
+            try {
+                afterVersion = Long.parseLong(position[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            afterId = parseCursorId(position[1]);
+        }
+
+        List<TodoItemChange> changes = repository.findChanges(listId, afterVersion, afterId, size + 1);
+        boolean hasNext = changes.size() > size;
+        List<TodoItemChange> content = hasNext ? changes.subList(0, size) : changes;
+        String nextCursor = null;
+        if (hasNext) {
+            TodoItemChange last = content.get(content.size() - 1);
+            nextCursor = CursorUtil.encode(String.valueOf(last.changeVersion()), last.id().toString());
+        }
+
+        return TodoItemChangeSet.<TodoItemDto>builder()
+                .version(version.getChangeVersion())
+                .changed(content.stream().filter(change -> change.item() != null).map(change -> mapper.toDto(change.item())).toList())
+                .deleted(content.stream().filter(change -> change.item() == null).map(TodoItemChange::id).toList())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
-    public TodoItemDto update(UUID listId, UUID id, TodoItemRequest request) {
+    public Slice<TodoItemSearchHit<TodoItemDto>> search(UUID listId, String query, TodoItemStatus status,
+                                                        LocalDate dueDateFrom, LocalDate dueDateTo, Pageable pageable) {
         getTodoList(listId);
-        TodoItem item = get(listId, id);
+        validateSearchQuery(query);
+        return toSearchHits(repository.search(listId, query, status, dueDateFrom, dueDateTo,
+                pageable.getOffset(), pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    public Slice<TodoItemSearchHit<TodoItemDto>> searchAccessible(String query, TodoItemStatus status,
+                                                                  LocalDate dueDateFrom, LocalDate dueDateTo, Pageable pageable) {
+        UUID userId = requireCurrentUserId();
+        validateSearchQuery(query);
+        return toSearchHits(repository.searchAccessible(userId, query, status, dueDateFrom, dueDateTo,
+                pageable.getOffset(), pageable.getPageSize() + 1), pageable);
+    }
+
+    private static void validateSearchQuery(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+    }
+
+    // Matches are fetched with one extra row, which tells whether another page follows without counting every match
+    private Slice<TodoItemSearchHit<TodoItemDto>> toSearchHits(List<TodoItemSearchMatch> matches, Pageable pageable) {
+        boolean hasNext = matches.size() > pageable.getPageSize();
+        List<TodoItemSearchHit<TodoItemDto>> hits = (hasNext ? matches.subList(0, pageable.getPageSize()) : matches).stream()
+                .map(match -> TodoItemSearchHit.<TodoItemDto>builder()
+                        .item(mapper.toDto(match.item()))
+                        .rank(match.rank())
+                        .nameHighlight(match.nameHighlight())
+                        .descriptionHighlight(match.descriptionHighlight())
+                        .build())
+                .toList();
+        return new SliceImpl<>(hits, pageable, hasNext);
+    }
+
+    @Override
+    public Optional<TodoItemDto> find(UUID listId, UUID id) {
+        UUID userId = requireCurrentUserId();
+        // Permission check, list existence and fetch in one statement: no row means no access, a null item means 404
+        TodoItemLookup lookup = repository.findAccessible(listId, id, userId)
+                .orElseThrow(() -> new AccessDeniedException(TodoListAuthorizationService.NO_ACCESS_MESSAGE));
+        return Optional.ofNullable(lookup.item()).map(mapper::toDto);
+    }
+
+    @Override
+    public Optional<Long> findVersion(UUID listId, UUID id) {
+        UUID userId = requireCurrentUserId();
+        TodoItemVersionLookup lookup = repository.findAccessibleVersion(listId, id, userId)
+                .orElseThrow(() -> new AccessDeniedException(TodoListAuthorizationService.NO_ACCESS_MESSAGE));
+        return Optional.ofNullable(lookup.version());
+    }
+
+    @Override
+    @Transactional
+    public TodoItemDto update(UUID listId, UUID id, TodoItemRequest request, Long expectedVersion) {
+        TodoItemStatus status = request.getStatus();
+        TodoItem updatedItem = repository.updateReturning(listId, id, request.getName(), request.getDescription(),
+                        request.getDueDate(), status == null ? null : status.name(), LocalDateTime.now(), expectedVersion)
+                .orElseThrow(() -> expectedVersion != null && repository.existsByListIdAndId(listId, id)
+                        ? new PreconditionFailedException("Todo item was modified, id=" + id + ", expected version=" + expectedVersion)
+                        : new NotFoundException("Todo item not found, id=" + id + ", listId=" + listId));
+        itemsChanged(listId);
+        return mapper.toDto(updatedItem);
+    }
+
+    @Override
+    @Transactional
+    public TodoItemBatchResult<TodoItemDto> applyBatch(UUID listId, List<TodoItemOperation> operations) {
+        if (operations.size() > maxBatchOperations) {
+            throw new IllegalArgumentException("A batch may contain at most " + maxBatchOperations + " operations");
+        }
+
+        // Validate every operation and resolve all referenced items with one query before writing anything
+        List<TodoItemOperationResult<TodoItemDto>> rejections = new ArrayList<>(Collections.nCopies(operations.size(), null));
+        Set<UUID> referencedIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            String error = validate(operations.get(i), referencedIds);
+            if (error != null) {
+                rejections.set(i, rejected(i, operations.get(i), HttpStatus.BAD_REQUEST.value(), error));
+            }
+        }
+        Map<UUID, TodoItem> existing = referencedIds.isEmpty()
+                ? Map.of()
+                : repository.findByListIdAndIdIn(listId, referencedIds).stream()
+                        .collect(Collectors.toMap(TodoItem::getId, Function.identity()));
+        for (int i = 0; i < operations.size(); i++) {
+            TodoItemOperation operation = operations.get(i);
+            if (rejections.get(i) == null && operation.getType() != TodoItemOperationType.CREATE
+                    && !existing.containsKey(operation.getId())) {
+                rejections.set(i, rejected(i, operation, HttpStatus.NOT_FOUND.value(), "Todo item not found"));
+            }
+        }
+
+        if (rejections.stream().anyMatch(Objects::nonNull)) {
+            List<TodoItemOperationResult<TodoItemDto>> results = new ArrayList<>(operations.size());
+            for (int i = 0; i < operations.size(); i++) {
+                TodoItemOperationResult<TodoItemDto> rejection = rejections.get(i);
+                results.add(rejection != null
+                        ? rejection
+                        : rejected(i, operations.get(i), HttpStatus.FAILED_DEPENDENCY.value(), null));
+            }
+            return TodoItemBatchResult.<TodoItemDto>builder().applied(false).results(results).build();
+        }
+
+        TodoItem[] touched = new TodoItem[operations.size()];
+        List<TodoItem> created = new ArrayList<>();
+        List<TodoItem> deleted = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TodoItemOperation operation = operations.get(i);
+            switch (operation.getType()) {
+                case CREATE -> {
+                    TodoItemRequest request = operation.getItem();
+                    touched[i] = TodoItem.builder()
+                            .name(request.getName())
+                            .description(request.getDescription())
+                            .dueDate(request.getDueDate())
+                            .status(request.getStatus())
+                            .listId(listId)
+                            .build();
+                    created.add(touched[i]);
+                }
+                case UPDATE -> {
+                    touched[i] = existing.get(operation.getId());
+                    applyChanges(touched[i], operation.getItem());
+                }
+                case DELETE -> {
+                    touched[i] = existing.get(operation.getId());
+                    deleted.add(touched[i]);
+                }
+            }
+        }
+        // Inserts, updates and deletes are flushed as JDBC batches (hibernate.jdbc.batch_size)
+        repository.saveAll(created);
+        repository.deleteAll(deleted);
+        repository.flush();
+        itemsChanged(listId);
+
+        List<TodoItemOperationResult<TodoItemDto>> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            TodoItemOperationType type = operations.get(i).getType();
+            results.add(TodoItemOperationResult.<TodoItemDto>builder()
+                    .index(i)
+                    .type(type)
+                    .id(touched[i].getId())
+                    .status(switch (type) {
+                        case CREATE -> HttpStatus.CREATED.value();
+                        case UPDATE -> HttpStatus.OK.value();
+                        case DELETE -> HttpStatus.NO_CONTENT.value();
+                    })
+                    .item(type == TodoItemOperationType.DELETE ? null : mapper.toDto(touched[i]))
+                    .build());
+        }
+        return TodoItemBatchResult.<TodoItemDto>builder().applied(true).results(results).build();
+    }
+
+    @Override
+    @Transactional
+    public long updateStatus(UUID listId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo, TodoItemStatus newStatus) {
+        long updated = repository.updateStatus(TodoItemSpecifications.filter(listId, status, dueDateFrom, dueDateTo), newStatus);
+        if (updated > 0) {
+            itemsChanged(listId);
+        }
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public long deleteAll(UUID listId, TodoItemStatus status, LocalDate dueDateFrom, LocalDate dueDateTo) {
+        long deleted = repository.delete(TodoItemSpecifications.filter(listId, status, dueDateFrom, dueDateTo));
+        if (deleted > 0) {
+            itemsChanged(listId);
+        }
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public void delete(UUID listId, UUID id) {
+        if (repository.deleteByListIdAndId(listId, id) == 0) {
+            throw new NotFoundException("Todo item not found, id=" + id + ", listId=" + listId);
+        }
+        itemsChanged(listId);
+    }
+
+    /**
+     * Subscribers are notified once the transaction commits, see {@link TodoListChangeBroadcaster}.
+     */
+    private void itemsChanged(UUID listId) {
+        eventPublisher.publishEvent(new TodoListChangedEvent(listId, TodoListChangeType.ITEMS));
+    }
+
+    private static void applyChanges(TodoItem item, TodoItemRequest request) {
         if (request.getName() != null) {
             item.setName(request.getName());
         }
@@ -86,15 +430,74 @@ public class TodoItemServiceImpl implements TodoItemService {
         if (request.getStatus() != null) {
             item.setStatus(request.getStatus());
         }
-        TodoItem updatedItem = repository.save(item);
-        return mapper.toDto(updatedItem);
     }
 
-    @Override
-    public void delete(UUID listId, UUID id) {
-        getTodoList(listId);
-        TodoItem item = get(listId, id);
-        repository.deleteById(item.getId());
+    private String validate(TodoItemOperation operation, Set<UUID> referencedIds) {
+        if (operation == null || operation.getType() == null) {
+            return "Operation type is required";
+        }
+        TodoItemRequest item = operation.getItem();
+        if (operation.getType() == TodoItemOperationType.CREATE) {
+            if (operation.getId() != null) {
+                return "Id must not be set for CREATE";
+            }
+            if (item == null) {
+                return "Item is required for CREATE";
+            }
+            return violations(validator.validate(item));
+        }
+
+        if (operation.getId() == null) {
+            return "Id is required for " + operation.getType();
+        }
+        if (!referencedIds.add(operation.getId())) {
+            return "Item is referenced by more than one operation";
+        }
+        if (operation.getType() == TodoItemOperationType.UPDATE) {
+            if (item == null) {
+                return "Item is required for UPDATE";
+            }
+            if (item.getName() != null) {
+                return violations(validator.validateProperty(item, "name"));
+            }
+        }
+        return null;
+    }
+
+    private static String violations(Set<ConstraintViolation<TodoItemRequest>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static TodoItemOperationResult<TodoItemDto> rejected(int index, TodoItemOperation operation, int status, String error) {
+        return TodoItemOperationResult.<TodoItemDto>builder()
+                .index(index)
+                .type(operation == null ? null : operation.getType())
+                .id(operation == null ? null : operation.getId())
+                .status(status)
+                .error(error)
+                .build();
+    }
+
+    private static Comparable<?> parseCursorValue(TodoItemSortField field, String value) {
+        try {
+            return field.parse(value);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static UUID parseCursorId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 
     private TodoList getTodoList(UUID listId) {
@@ -102,8 +505,12 @@ public class TodoItemServiceImpl implements TodoItemService {
                 .orElseThrow(() -> new NotFoundException("Todo list not found, id=" + listId));
     }
 
-    private TodoItem get(UUID listId, UUID id) {
-        return repository.findByIdAndTodoListId(id, listId)
-                .orElseThrow(() -> new NotFoundException("Todo item not found, id=" + id + ", listId=" + listId));
+    // Reads that carry their own membership check need a user to check; without one there is nothing they may see
+    private static UUID requireCurrentUserId() {
+        UUID userId = SecurityUtil.currentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException(TodoListAuthorizationService.NO_ACCESS_MESSAGE);
+        }
+        return userId;
     }
 }
@@ -0,0 +1,43 @@
+package com.demo.codo.service;
+
+import com.demo.codo.repository.TodoItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purges item tombstones older than the retention window in small chunks, each in its own short
+ * transaction, so the delta sync tables stay small without holding list locks for long.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TodoItemTombstoneCompactor {
+    private final TodoItemRepository repository;
+
+    @Value("${app.todo.changes.tombstone-retention:30d}")
+    private Duration retention;
+
+    @Value("${app.todo.changes.compaction-batch-size:10000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.todo.changes.compaction-interval:1h}",
+            initialDelayString = "${app.todo.changes.compaction-interval:1h}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long total = 0;
+        long purged;
+        do {
+            purged = repository.compactTombstones(cutoff, batchSize);
+            total += purged;
+        } while (purged == batchSize);
+        if (total > 0) {
+            log.info("Compacted {} todo item tombstones older than {}", total, cutoff);
+        }
+    }
+}
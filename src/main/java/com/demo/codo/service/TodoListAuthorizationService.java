@@ -1,9 +1,6 @@
 package com.demo.codo.service;
 
 import com.demo.codo.annotation.RequireListPermission;
-import com.demo.codo.entity.User;
-import com.demo.codo.entity.UserTodoList;
-import com.demo.codo.repository.UserRepository;
 import com.demo.codo.repository.UserTodoListRepository;
 import com.demo.codo.security.CustomUserDetailsService.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +14,10 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Service
 public class TodoListAuthorizationService {
+    public static final String NO_ACCESS_MESSAGE = "You do not have access to this todo list";
+
     private final UserTodoListRepository userTodoListRepository;
+    private final ListPermissionCache permissionCache;
 
     public void check(UUID listId, RequireListPermission.Permission permission) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -26,15 +26,23 @@ public class TodoListAuthorizationService {
         }
 
         UUID userId = getUserId(authentication);
-        UserTodoList userTodoList = userTodoListRepository.findByUserIdAndListId(userId, listId)
-                .orElseThrow(() -> new AccessDeniedException("You do not have access to this todo list"));
+        if (userId == null) {
+            throw new AccessDeniedException(NO_ACCESS_MESSAGE);
+        }
+        int bits = permissionCache.get(userId, listId, () -> userTodoListRepository.findByUserIdAndListId(userId, listId)
+                .map(ListPermissionCache::toBits)
+                .orElse(ListPermissionCache.NONE));
+
+        if ((bits & ListPermissionCache.READ) == 0) {
+            throw new AccessDeniedException(NO_ACCESS_MESSAGE);
+        }
 
         if (RequireListPermission.Permission.EDIT.equals(permission)) {
-            if (!userTodoList.getIsOwner() && !userTodoList.getIsEditable()) {
+            if ((bits & ListPermissionCache.EDIT) == 0) {
                 throw new AccessDeniedException("You do not have permission to modify this resource. Read-only access.");
             }
         } else if (RequireListPermission.Permission.OWNER.equals(permission)) {
-            if (!userTodoList.getIsOwner()) {
+            if ((bits & ListPermissionCache.OWNER) == 0) {
                 throw new AccessDeniedException("Only the owner can perform this operation");
             }
         }
@@ -0,0 +1,61 @@
+package com.demo.codo.service;
+
+import com.demo.codo.enums.TodoListChangeType;
+import com.demo.codo.event.TodoListChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Fans committed list changes out to every node over Redis pub/sub, where they are handed to the node's
+ * local SSE subscribers. Delivery is best effort: a client that misses a message catches up through the
+ * changes endpoint on its next notification or reconnect.
+ */
+@Component
+@Slf4j
+public class TodoListChangeBroadcaster implements MessageListener {
+
+    public static final String CHANGE_CHANNEL = "todo_list_changes";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TodoListEventStreams eventStreams;
+
+    public TodoListChangeBroadcaster(RedisTemplate<String, String> redisTemplate,
+                                     RedisMessageListenerContainer listenerContainer,
+                                     TodoListEventStreams eventStreams) {
+        this.redisTemplate = redisTemplate;
+        this.eventStreams = eventStreams;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(TodoListChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, event.listId() + ":" + event.type().name());
+        } catch (RuntimeException e) {
+            // The write already committed; subscribers recover on their next sync
+            log.warn("Failed to broadcast change of list {}", event.listId(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            int separator = body.indexOf(':');
+            UUID listId = UUID.fromString(body.substring(0, separator));
+            TodoListChangeType type = TodoListChangeType.valueOf(body.substring(separator + 1));
+            eventStreams.publish(listId, type);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed list change message: {}", body);
+        }
+    }
+}
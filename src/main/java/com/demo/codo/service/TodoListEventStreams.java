@@ -0,0 +1,249 @@
+package com.demo.codo.service;
+
+import com.demo.codo.enums.TodoListChangeType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event subscriptions of this node, per list. Idle connections are parked async requests, so
+ * they hold no thread. Changes are not sent as they arrive. Each subscription records the kinds of change
+ * pending for it in a bit set, and a flush tick writes them out on a small sender pool. A burst of writes
+ * therefore collapses into one event per kind. A subscription is never written by two threads at once,
+ * and memory per client stays constant.
+ * <p>
+ * Writes block while a client's socket buffer is full. A send still in flight after send-timeout marks
+ * its subscription stalled: it is dropped, and the sender pool gets a replacement thread until the write
+ * returns. A slow client therefore only delays its own events. Once its write returns, its stream is
+ * closed and the client reconnects.
+ * <p>
+ * Access is checked only when a stream is opened. A collaborator change may have revoked it, so those
+ * streams are closed once the event is sent, and clients reconnect through the permission check.
+ */
+@Component
+@Slf4j
+public class TodoListEventStreams {
+
+    private static final String CHANGE_EVENT = "change";
+    private static final int HEARTBEAT = 1 << TodoListChangeType.values().length;
+
+    private final Map<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Queue<Subscription> dirty = new ConcurrentLinkedQueue<>();
+    private final Set<Subscription> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor sender;
+    private final Duration timeout;
+    private final int senderThreads;
+    private final long sendTimeoutNanos;
+    private final int maxStalledSends;
+    private volatile int stalledSends;
+
+    public TodoListEventStreams(MeterRegistry meterRegistry,
+                                @Value("${app.todo.events.timeout:30m}") Duration timeout,
+                                @Value("${app.todo.events.coalesce-window:250ms}") Duration coalesceWindow,
+                                @Value("${app.todo.events.heartbeat-interval:30s}") Duration heartbeatInterval,
+                                @Value("${app.todo.events.sender-threads:4}") int senderThreads,
+                                @Value("${app.todo.events.sender-queue-size:10000}") int senderQueueSize,
+                                @Value("${app.todo.events.send-timeout:5s}") Duration sendTimeout,
+                                @Value("${app.todo.events.max-stalled-sends:64}") int maxStalledSends) {
+        this.timeout = timeout;
+        this.senderThreads = senderThreads;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.maxStalledSends = maxStalledSends;
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(senderQueueSize), new CustomizableThreadFactory("list-events-sender-"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("list-events-flush-"));
+        scheduler.scheduleWithFixedDelay(this::flush, coalesceWindow.toMillis(), coalesceWindow.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        Gauge.builder("todo.list.events.connections", connections, AtomicInteger::get)
+                .description("Open list event streams on this node")
+                .register(meterRegistry);
+        Gauge.builder("todo.list.events.stalled.sends", this, streams -> streams.stalledSends)
+                .description("Sends blocked on slow clients past the send timeout")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID listId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(listId, emitter);
+        subscriptions.computeIfAbsent(listId, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+        connections.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(error -> remove(subscription));
+        try {
+            // Commits the response headers so the client sees the stream open right away
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public void publish(UUID listId, TodoListChangeType type) {
+        Set<Subscription> listSubscriptions = subscriptions.get(listId);
+        if (listSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : listSubscriptions) {
+            mark(subscription, 1 << type.ordinal());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        sender.shutdownNow();
+        subscriptions.values().forEach(listSubscriptions -> listSubscriptions.forEach(subscription -> subscription.emitter.complete()));
+    }
+
+    private void mark(Subscription subscription, int bits) {
+        subscription.pending.getAndUpdate(pending -> pending | bits);
+        if (subscription.queued.compareAndSet(false, true)) {
+            dirty.add(subscription);
+        }
+    }
+
+    private void heartbeat() {
+        subscriptions.values().forEach(listSubscriptions -> listSubscriptions.forEach(subscription -> mark(subscription, HEARTBEAT)));
+    }
+
+    private void flush() {
+        dropStalled();
+        Subscription subscription;
+        int remaining = dirty.size();
+        while (remaining-- > 0 && (subscription = dirty.poll()) != null) {
+            subscription.queued.set(false);
+            if (subscription.closed.get() || !subscription.sending.compareAndSet(false, true)) {
+                // A send in progress re-queues the subscription itself once it finishes
+                continue;
+            }
+            Subscription target = subscription;
+            try {
+                sender.execute(() -> send(target));
+            } catch (RejectedExecutionException e) {
+                // Sender pool saturated: keep the pending bits and retry on the next tick
+                target.sending.set(false);
+                mark(target, 0);
+            }
+        }
+    }
+
+    private void send(Subscription subscription) {
+        subscription.sendStartedAt = System.nanoTime();
+        inFlight.add(subscription);
+        try {
+            int bits = subscription.pending.getAndSet(0);
+            boolean close = false;
+            for (TodoListChangeType type : TodoListChangeType.values()) {
+                if ((bits & (1 << type.ordinal())) != 0) {
+                    subscription.emitter.send(SseEmitter.event()
+                            .name(CHANGE_EVENT)
+                            .data(Map.of("listId", subscription.listId, "type", type), MediaType.APPLICATION_JSON));
+                    close |= type == TodoListChangeType.DELETED || type == TodoListChangeType.COLLABORATORS;
+                }
+            }
+            if (bits == HEARTBEAT) {
+                subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            if (close) {
+                subscription.emitter.complete();
+                remove(subscription);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container reports the failure through onError as well
+            log.debug("Dropping event stream of list {}: {}", subscription.listId, e.getMessage());
+            remove(subscription);
+        } finally {
+            // Whoever takes the subscription out of inFlight owns it; if the watchdog did, this send stalled
+            boolean stalled = !inFlight.remove(subscription);
+            subscription.sending.set(false);
+            if (stalled) {
+                resizeSender(-1);
+                // Dropped while this write was blocked; end the stream so the client reconnects
+                try {
+                    subscription.emitter.complete();
+                } catch (IllegalStateException e) {
+                    log.debug("Event stream of list {} already ended: {}", subscription.listId, e.getMessage());
+                }
+            } else if (!subscription.closed.get() && subscription.pending.get() != 0) {
+                mark(subscription, 0);
+            }
+        }
+    }
+
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscription subscription : inFlight) {
+            if (now - subscription.sendStartedAt > sendTimeoutNanos && inFlight.remove(subscription)) {
+                log.debug("Dropping event stream of list {}: send blocked for over {} ms",
+                        subscription.listId, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                remove(subscription);
+                resizeSender(1);
+            }
+        }
+    }
+
+    // Stalled sends each hold a sender thread, so the pool grows by one per stall to keep other lists moving
+    private synchronized void resizeSender(int delta) {
+        stalledSends += delta;
+        int size = senderThreads + Math.min(stalledSends, maxStalledSends);
+        if (size > sender.getMaximumPoolSize()) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else if (size < sender.getCorePoolSize()) {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        subscriptions.computeIfPresent(subscription.listId, (listId, listSubscriptions) -> {
+            listSubscriptions.remove(subscription);
+            return listSubscriptions.isEmpty() ? null : listSubscriptions;
+        });
+    }
+
+    private static final class Subscription {
+        private final UUID listId;
+        private final SseEmitter emitter;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long sendStartedAt;
+
+        private Subscription(UUID listId, SseEmitter emitter) {
+            this.listId = listId;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.demo.codo.service;
 
+import com.demo.codo.dto.CursorPage;
 import com.demo.codo.dto.TodoListRequest;
 import com.demo.codo.dto.TodoListDto;
 import com.demo.codo.dto.TodoListResponse;
@@ -14,10 +15,21 @@ public interface TodoListService {
     TodoListDto create(TodoListRequest request);
 
     Page<TodoListDto> getAll(Pageable pageable);
+
+    CursorPage<TodoListDto> getAll(String cursor, int size, boolean includeTotal);
     
     Optional<TodoListDto> find(UUID id);
 
-    TodoListDto update(UUID id, TodoListRequest request);
+    /**
+     * Current version of a list, checked for access like {@link #find} but without loading the list.
+     */
+    Optional<Long> findVersion(UUID id);
+
+    /**
+     * @param expectedVersion version the client last saw, or null to update unconditionally
+     * @throws com.demo.codo.exception.PreconditionFailedException if the list has moved past expectedVersion
+     */
+    TodoListDto update(UUID id, TodoListRequest request, Long expectedVersion);
 
     void delete(UUID id);
 }
@@ -1,27 +1,35 @@
 package com.demo.codo.service;
 
+import com.demo.codo.dto.CursorPage;
 import com.demo.codo.dto.TodoListDto;
 import com.demo.codo.dto.TodoListRequest;
 import com.demo.codo.entity.TodoList;
-import com.demo.codo.entity.User;
 import com.demo.codo.entity.UserTodoList;
+import com.demo.codo.enums.TodoListChangeType;
+import com.demo.codo.event.TodoListChangedEvent;
 import com.demo.codo.exception.NotFoundException;
+import com.demo.codo.exception.PreconditionFailedException;
 import com.demo.codo.mapper.TodoListMapper;
 import com.demo.codo.repository.TodoListRepository;
-import com.demo.codo.repository.UserRepository;
 import com.demo.codo.repository.UserTodoListRepository;
 import com.demo.codo.security.CustomUserDetailsService.CustomUserDetails;
+import com.demo.codo.util.CursorUtil;
+import com.demo.codo.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,7 +37,8 @@ public class TodoListServiceImpl implements TodoListService {
     private final TodoListRepository repository;
     private final TodoListMapper mapper;
     private final UserTodoListRepository userTodoListRepository;
-    private final UserRepository userRepository;
+    private final ListPermissionCache permissionCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public TodoListDto create(TodoListRequest request) {
@@ -55,61 +64,104 @@ public class TodoListServiceImpl implements TodoListService {
 
     @Override
     public Page<TodoListDto> getAll(Pageable pageable) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        
-        if (authentication == null || authentication.getName() == null) {
-            Page<TodoList> lists = repository.findAll(pageable);
-            return lists.map(mapper::toDto);
+        UUID userId = SecurityUtil.currentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException(TodoListAuthorizationService.NO_ACCESS_MESSAGE);
         }
-        
-        String userEmail = authentication.getName();
-        Optional<User> currentUserOpt = userRepository.findByEmail(userEmail);
-        
-        if (currentUserOpt.isEmpty()) {
-            // If user doesn't exist, return all lists (fallback behavior)
-            Page<TodoList> lists = repository.findAll(pageable);
-            return lists.map(mapper::toDto);
+        Page<TodoList> lists = repository.findAccessible(userId, pageable);
+        return lists.map(mapper::toDto);
+    }
+
+    @Override
+    public CursorPage<TodoListDto> getAll(String cursor, int size, boolean includeTotal) {
+        UUID userId = SecurityUtil.currentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException(TodoListAuthorizationService.NO_ACCESS_MESSAGE);
         }
-        
-        User currentUser = currentUserOpt.get();
-        List<UUID> accessibleListIds = userTodoListRepository.findByUserId(currentUser.getId())
-                .stream()
-                .map(UserTodoList::getListId)
-                .collect(Collectors.toList());
-        
-        if (accessibleListIds.isEmpty()) {
-            return Page.empty(pageable);
+
+        // Fetch one extra row to learn whether another slice follows without a count query
+        List<TodoList> lists;
+        if (cursor == null || cursor.isEmpty()) {
+            lists = repository.findAccessibleFirst(userId, size + 1);
+        } else {
+            String[] position = CursorUtil.decode(cursor, 2);
+            lists = repository.findAccessibleAfter(userId, parseTimestamp(position[0]), parseId(position[1]), size + 1);
         }
-        
-        Page<TodoList> lists = repository.findByIdIn(accessibleListIds, pageable);
-        return lists.map(mapper::toDto);
+
+        boolean hasNext = lists.size() > size;
+        List<TodoList> content = hasNext ? lists.subList(0, size) : lists;
+        String nextCursor = null;
+        if (hasNext) {
+            TodoList last = content.get(content.size() - 1);
+            nextCursor = CursorUtil.encode(last.getUpdatedAt().toString(), last.getId().toString());
+        }
+
+        return CursorPage.<TodoListDto>builder()
+                .content(content.stream().map(mapper::toDto).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(includeTotal ? userTodoListRepository.countByUserId(userId) : null)
+                .build();
     }
 
     @Override
     public Optional<TodoListDto> find(UUID id) {
-        return repository.findById(id).map(mapper::toDto);
+        UUID userId = SecurityUtil.currentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException(TodoListAuthorizationService.NO_ACCESS_MESSAGE);
+        }
+        // Membership implies the list exists, so an empty result is always an access failure
+        TodoList list = repository.findAccessible(id, userId)
+                .orElseThrow(() -> new AccessDeniedException(TodoListAuthorizationService.NO_ACCESS_MESSAGE));
+        return Optional.of(mapper.toDto(list));
     }
 
-    private TodoList getOrThrow(UUID id) {
-        return repository.findById(id).orElseThrow(() -> new NotFoundException("Todo list not found, id=" + id));
+    @Override
+    public Optional<Long> findVersion(UUID id) {
+        UUID userId = SecurityUtil.currentUserId();
+        if (userId == null) {
+            throw new AccessDeniedException(TodoListAuthorizationService.NO_ACCESS_MESSAGE);
+        }
+        Long version = repository.findAccessibleVersion(id, userId)
+                .orElseThrow(() -> new AccessDeniedException(TodoListAuthorizationService.NO_ACCESS_MESSAGE));
+        return Optional.of(version);
     }
 
-    @Override
-    public TodoListDto update(UUID id, TodoListRequest request) {
-        TodoList list = getOrThrow(id);
-        if (request.getName() != null) {
-            list.setName(request.getName());
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
-        if (request.getDescription() != null) {
-            list.setDescription(request.getDescription());
+    }
+
+    private static UUID parseId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
-        TodoList updatedList = repository.save(list);
+    }
+
+    @Override
+    @Transactional
+    public TodoListDto update(UUID id, TodoListRequest request, Long expectedVersion) {
+        TodoList updatedList = repository.updateReturning(id, request.getName(), request.getDescription(), LocalDateTime.now(), expectedVersion)
+                .orElseThrow(() -> expectedVersion != null && repository.existsById(id)
+                        ? new PreconditionFailedException("Todo list was modified, id=" + id + ", expected version=" + expectedVersion)
+                        : new NotFoundException("Todo list not found, id=" + id));
+        eventPublisher.publishEvent(new TodoListChangedEvent(id, TodoListChangeType.LIST));
         return mapper.toDto(updatedList);
     }
 
     @Override
+    @Transactional
     public void delete(UUID id) {
-        TodoList list = getOrThrow(id);
-        repository.deleteById(list.getId());
+        if (repository.deleteByIdReturningCount(id) == 0) {
+            throw new NotFoundException("Todo list not found, id=" + id);
+        }
+        permissionCache.evictList(id);
+        eventPublisher.publishEvent(new TodoListChangedEvent(id, TodoListChangeType.DELETED));
     }
 }
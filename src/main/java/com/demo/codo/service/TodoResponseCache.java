@@ -0,0 +1,171 @@
+package com.demo.codo.service;
+
+import com.demo.codo.event.TodoListChangedEvent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of list and item read responses, shared by all nodes. Entries are Smile-encoded and
+ * kept in one Redis hash per list, keyed by request variant (filters, page, sort), so a single DEL drops
+ * every response of a list once a write to it commits. A per-list generation counter is raised on each
+ * eviction and checked atomically on store, so a response loaded before a write can never be stored after
+ * it. A list's hash expires ttl after its first entry was stored, whatever is stored later. Redis failures
+ * fall back to the loader.
+ */
+@Component
+@Slf4j
+public class TodoResponseCache {
+
+    private static final String KEY_PREFIX = "todo_response:";
+    private static final String GENERATION_KEY_PREFIX = "todo_response_generation:";
+    private static final String INITIAL_GENERATION = "0";
+
+    // KEYS: entries hash, generation; ARGV: generation seen before loading, field, value, ttl millis.
+    // Only a new hash gets a TTL, so steady store traffic cannot keep entries alive past a failed eviction
+    private static final RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('HSET', KEYS[1], ARGV[2], ARGV[3]) " +
+            "if redis.call('PTTL', KEYS[1]) < 0 then redis.call('PEXPIRE', KEYS[1], ARGV[4]) end " +
+            "return 1", Long.class);
+
+    // KEYS: entries hash, generation; ARGV: ttl millis
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[1]) " +
+            "return redis.call('DEL', KEYS[1])", Long.class);
+
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final ObjectMapper smileMapper;
+    private final Counter hits;
+    private final Counter misses;
+    private final DistributionSummary entrySize;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final long maxEntrySize;
+
+    public TodoResponseCache(RedisTemplate<String, byte[]> redisTemplate,
+                             Jackson2ObjectMapperBuilder objectMapperBuilder,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.todo.response-cache.enabled:true}") boolean enabled,
+                             @Value("${app.todo.response-cache.ttl:10m}") Duration ttl,
+                             @Value("${app.todo.response-cache.max-entry-size:256KB}") DataSize maxEntrySize) {
+        this.redisTemplate = redisTemplate;
+        // Same modules and features as the JSON responses, so a cached body reads back identically
+        this.smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.hits = Counter.builder("todo.response.cache.requests")
+                .tag("result", "hit")
+                .description("Response cache lookups")
+                .register(meterRegistry);
+        this.misses = Counter.builder("todo.response.cache.requests")
+                .tag("result", "miss")
+                .description("Response cache lookups")
+                .register(meterRegistry);
+        this.entrySize = DistributionSummary.builder("todo.response.cache.entry.size")
+                .baseUnit("bytes")
+                .description("Encoded size of responses read from or written to the cache")
+                .register(meterRegistry);
+        Gauge.builder("todo.response.cache.hit.ratio", this, TodoResponseCache::hitRatio)
+                .description("Share of response cache lookups served from Redis on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached response of a list for the given request variant, or loads and caches it.
+     * A null response is passed through without being cached.
+     */
+    public <T> T get(UUID listId, String variant, TypeReference<T> type, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String key = KEY_PREFIX + listId;
+        String generationKey = GENERATION_KEY_PREFIX + listId;
+        JavaType javaType = smileMapper.getTypeFactory().constructType(type);
+
+        String generation;
+        try {
+            Object cached = redisTemplate.opsForHash().get(key, variant);
+            if (cached != null) {
+                byte[] bytes = (byte[]) cached;
+                T response = smileMapper.readValue(bytes, javaType);
+                hits.increment();
+                entrySize.record(bytes.length);
+                return response;
+            }
+            byte[] current = redisTemplate.opsForValue().get(generationKey);
+            generation = current == null ? INITIAL_GENERATION : new String(current, StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Response cache lookup failed for list {}", listId, e);
+            return loader.get();
+        }
+
+        misses.increment();
+        T response = loader.get();
+        if (response == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = smileMapper.writeValueAsBytes(response);
+            if (bytes.length <= maxEntrySize) {
+                redisTemplate.execute(STORE_SCRIPT, RedisSerializer.byteArray(), RESULT_SERIALIZER, List.of(key, generationKey),
+                        utf8(generation), utf8(variant), bytes, utf8(String.valueOf(ttl.toMillis())));
+                entrySize.record(bytes.length);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Response cache store failed for list {}", listId, e);
+        }
+        return response;
+    }
+
+    public void evict(UUID listId) {
+        try {
+            redisTemplate.execute(EVICT_SCRIPT, List.of(KEY_PREFIX + listId, GENERATION_KEY_PREFIX + listId),
+                    utf8(String.valueOf(ttl.toMillis())));
+        } catch (RuntimeException e) {
+            // Entries of this list may be served until their TTL runs out
+            log.warn("Response cache eviction failed for list {}", listId, e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(TodoListChangedEvent event) {
+        evict(event.listId());
+    }
+
+    private double hitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
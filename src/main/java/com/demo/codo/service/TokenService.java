@@ -39,9 +39,9 @@ public class TokenService {
         String redisKey = TOKEN_PREFIX + hashedToken;
         log.info("Verifying token: {}, hashedToken: {}, redisKey: {}", token, hashedToken, redisKey);
 
-        String userIdStr = redisTemplate.opsForValue().get(redisKey);
+        // GETDEL reads and consumes the token in one step, so concurrent verifications cannot both succeed
+        String userIdStr = redisTemplate.opsForValue().getAndDelete(redisKey);
         if (userIdStr != null) {
-            redisTemplate.delete(redisKey);
             log.info("Token verified and deleted for user: {}", userIdStr);
             return UUID.fromString(userIdStr);
         }
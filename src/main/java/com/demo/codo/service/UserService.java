@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -23,6 +24,8 @@ public class UserService {
     private final EmailVerificationService emailVerificationService;
     private final UserMapper mapper;
 
+    // The verification email is queued with the user and sent in the background, so signup never waits on the mail API
+    @Transactional
     public User create(UserRequest request) {
         Optional<User> existingUser = userRepository.findByEmail(request.getEmail());
         if (existingUser.isPresent()) {
@@ -36,13 +39,8 @@ public class UserService {
                 .emailVerified(false)
                 .build();
         User savedUser = userRepository.save(newUser);
-
-        try {
-            emailVerificationService.sendVerificationEmail(savedUser);
-            log.info("User created and verification email sent: {}", savedUser.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send verification email for user: {}", savedUser.getEmail(), e);
-        }
+        emailVerificationService.enqueueVerificationEmail(savedUser);
+        log.info("User created and verification email queued: {}", savedUser.getEmail());
         return savedUser;
     }
 
@@ -0,0 +1,100 @@
+package com.demo.codo.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader and writer: fields containing a separator, quote or line break are quoted, quotes are
+ * doubled and null becomes an empty field.
+ */
+public class CsvUtil {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    public static String row(String... fields) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                row.append(SEPARATOR);
+            }
+            appendField(row, fields[i]);
+        }
+        return row.toString();
+    }
+
+    private static void appendField(StringBuilder row, String field) {
+        if (field == null) {
+            return;
+        }
+        boolean quoted = field.indexOf(SEPARATOR) >= 0 || field.indexOf(QUOTE) >= 0
+                || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+        if (!quoted) {
+            row.append(field);
+            return;
+        }
+        row.append(QUOTE);
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == QUOTE) {
+                row.append(QUOTE);
+            }
+            row.append(c);
+        }
+        row.append(QUOTE);
+    }
+
+    /**
+     * Reads the next record, which may span lines inside quoted fields. Empty fields are returned as null.
+     *
+     * @return the fields, or null at end of input
+     * @throws IllegalArgumentException if the record is longer than maxLength characters
+     */
+    public static List<String> readRow(BufferedReader reader, int maxLength) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        int length = 0;
+        while (c != -1) {
+            if (++length > maxLength) {
+                throw new IllegalArgumentException("CSV row exceeds " + maxLength + " characters");
+            }
+            if (inQuotes) {
+                if (c == QUOTE) {
+                    reader.mark(1);
+                    if (reader.read() == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        reader.reset();
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == QUOTE) {
+                inQuotes = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.isEmpty() ? null : field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.isEmpty() ? null : field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,44 @@
+package com.demo.codo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe cursors. Each part is base64url-encoded
+ * on its own and joined with '.', with '~' standing for a null value.
+ */
+public class CursorUtil {
+    private static final String SEPARATOR = ".";
+    private static final String NULL_PART = "~";
+
+    public static String encode(String... parts) {
+        StringBuilder cursor = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                cursor.append(SEPARATOR);
+            }
+            cursor.append(parts[i] == null
+                    ? NULL_PART
+                    : Base64.getUrlEncoder().withoutPadding().encodeToString(parts[i].getBytes(StandardCharsets.UTF_8)));
+        }
+        return cursor.toString();
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        String[] encoded = cursor.split("\\.", -1);
+        if (encoded.length != expectedParts) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = new String[expectedParts];
+        try {
+            for (int i = 0; i < expectedParts; i++) {
+                parts[i] = NULL_PART.equals(encoded[i])
+                        ? null
+                        : new String(Base64.getUrlDecoder().decode(encoded[i]), StandardCharsets.UTF_8);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+}
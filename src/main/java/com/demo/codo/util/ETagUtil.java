@@ -0,0 +1,31 @@
+package com.demo.codo.util;
+
+/**
+ * Converts between entity versions and the strong entity tags sent in ETag and expected in If-Match.
+ */
+public class ETagUtil {
+    private static final String ANY = "*";
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Parses an If-Match header into the version it requires, or null when the header is absent or '*'.
+     * Only a single strong tag is accepted; weak tags never match under the strong comparison If-Match uses.
+     */
+    public static Long parseIfMatch(String header) {
+        if (header == null || header.isBlank() || ANY.equals(header.trim())) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("If-Match must be a single strong entity tag or *");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be a single strong entity tag or *");
+        }
+    }
+}
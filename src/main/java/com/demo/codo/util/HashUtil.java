@@ -1,11 +1,16 @@
 package com.demo.codo.util;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
 
 public class HashUtil {
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
     public static String sha256Hex(String value) {
         try {
             byte[] tokenBytes = value.getBytes(StandardCharsets.UTF_8);
@@ -15,4 +20,15 @@ public class HashUtil {
             throw new RuntimeException("SHA-256 algorithm not available", e);
         }
     }
+
+    public static String hmacSha256Hex(byte[] key, String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(key, HMAC_SHA256));
+            byte[] digest = mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("HmacSHA256 algorithm not available", e);
+        }
+    }
 }
@@ -0,0 +1,7 @@
+-- Keyset pagination indexes: one per sortable field, with id as tie-breaker.
+-- Built concurrently so existing writes are not blocked; Flyway runs this migration outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_item_list_id_status_id ON todo_item (list_id, status, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_item_list_id_name_id ON todo_item (list_id, name, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_item_list_id_due_date_id ON todo_item (list_id, due_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_item_list_id_created_at_id ON todo_item (list_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_item_list_id_updated_at_id ON todo_item (list_id, updated_at, id);
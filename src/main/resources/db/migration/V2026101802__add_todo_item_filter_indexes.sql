@@ -0,0 +1,4 @@
+-- Filter index for status plus due date range within a list. The list_id, status and due_date
+-- filters on their own are served by the (list_id, <field>, id) keyset indexes, which also cover
+-- the todo_item.list_id foreign key when a list is deleted.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_item_list_id_status_due_date ON todo_item (list_id, status, due_date, id);
@@ -0,0 +1,23 @@
+-- Let a single DELETE on todo_list remove its items and memberships.
+-- The original foreign keys were declared inline, so they are looked up rather than dropped by name.
+-- The replacements are added NOT VALID so no existing row is scanned while the tables are locked;
+-- V2026101812 validates them in its own transaction.
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'f'
+          AND confrelid = 'todo_list'::regclass
+          AND conrelid IN ('todo_item'::regclass, 'user_todo_list'::regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE todo_item
+    ADD CONSTRAINT fk_todo_item_list FOREIGN KEY (list_id) REFERENCES todo_list(id) ON DELETE CASCADE NOT VALID;
+ALTER TABLE user_todo_list
+    ADD CONSTRAINT fk_user_todo_list_list FOREIGN KEY (list_id) REFERENCES todo_list(id) ON DELETE CASCADE NOT VALID;
@@ -0,0 +1,2 @@
+-- Export walks a list in id order so it can resume after the last id a client received.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_item_list_id_id ON todo_item (list_id, id);
@@ -0,0 +1,9 @@
+-- Full-text search document: the name outranks the description. It is indexed as an expression rather than
+-- stored in a generated column, so adding it never rewrites todo_item. The text search configuration is
+-- spelled out so the function is immutable, and queries must use the same one.
+CREATE OR REPLACE FUNCTION todo_item_search_document(name text, description text) RETURNS tsvector
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+$$
+SELECT setweight(to_tsvector('english', coalesce($1, '')), 'A') ||
+       setweight(to_tsvector('english', coalesce($2, '')), 'B')
+$$;
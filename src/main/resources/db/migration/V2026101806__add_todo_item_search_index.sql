@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_item_search_document ON todo_item USING GIN (todo_item_search_document(name, description));
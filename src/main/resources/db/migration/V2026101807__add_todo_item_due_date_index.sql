@@ -0,0 +1,3 @@
+-- Cross-list calendar view: walks items by due date and checks list membership from the index.
+-- Items without a due date never appear there, so they are left out of the index.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_item_due_date_list_id ON todo_item (due_date, list_id) WHERE due_date IS NOT NULL;
@@ -0,0 +1,89 @@
+-- Per-list change version for delta sync. Every write to a list or its items takes the list's next
+-- version while holding its row lock, so versions become visible in commit order and a client that
+-- has seen version N can ask for everything above N. All rows written by one transaction share one
+-- version, so bulk writes update the list row once rather than once per item.
+ALTER TABLE todo_list ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+-- Highest version whose tombstones have been compacted; clients behind it must resync in full
+ALTER TABLE todo_list ADD COLUMN IF NOT EXISTS tombstone_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE todo_item ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS todo_item_tombstone (
+    item_id UUID PRIMARY KEY,
+    list_id UUID NOT NULL REFERENCES todo_list(id) ON DELETE CASCADE,
+    change_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_item_tombstone_list_id_version ON todo_item_tombstone (list_id, change_version, item_id);
+CREATE INDEX IF NOT EXISTS idx_todo_item_tombstone_deleted_at ON todo_item_tombstone (deleted_at);
+
+-- The version taken by the current transaction is kept in a transaction-local setting per list
+CREATE OR REPLACE FUNCTION todo_list_version_setting(p_list_id UUID) RETURNS TEXT AS $$
+    SELECT 'codo.list_version_' || replace(p_list_id::text, '-', '');
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Returns the list's version for this transaction, bumping it on first use; NULL if the list is gone
+CREATE OR REPLACE FUNCTION next_todo_list_change_version(p_list_id UUID) RETURNS BIGINT AS $$
+DECLARE
+    setting TEXT := todo_list_version_setting(p_list_id);
+    version BIGINT := NULLIF(current_setting(setting, true), '')::BIGINT;
+BEGIN
+    IF version IS NULL THEN
+        UPDATE todo_list SET change_version = change_version + 1 WHERE id = p_list_id
+        RETURNING change_version INTO version;
+        IF version IS NOT NULL THEN
+            PERFORM set_config(setting, version::TEXT, true);
+        END IF;
+    END IF;
+    RETURN version;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION todo_item_set_change_version() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_version := next_todo_list_change_version(NEW.list_id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Items removed together with their list need no tombstone: the list itself is gone
+CREATE OR REPLACE FUNCTION todo_item_record_tombstone() RETURNS TRIGGER AS $$
+DECLARE
+    version BIGINT := next_todo_list_change_version(OLD.list_id);
+BEGIN
+    IF version IS NOT NULL AND EXISTS (SELECT 1 FROM todo_list WHERE id = OLD.list_id) THEN
+        INSERT INTO todo_item_tombstone (item_id, list_id, change_version) VALUES (OLD.id, OLD.list_id, version);
+    END IF;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION todo_list_set_change_version() RETURNS TRIGGER AS $$
+DECLARE
+    setting TEXT := todo_list_version_setting(NEW.id);
+    version BIGINT := NULLIF(current_setting(setting, true), '')::BIGINT;
+BEGIN
+    IF version IS NULL THEN
+        version := OLD.change_version + 1;
+        PERFORM set_config(setting, version::TEXT, true);
+    END IF;
+    NEW.change_version := version;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_todo_item_change_version ON todo_item;
+CREATE TRIGGER trg_todo_item_change_version
+    BEFORE INSERT OR UPDATE ON todo_item
+    FOR EACH ROW EXECUTE FUNCTION todo_item_set_change_version();
+
+DROP TRIGGER IF EXISTS trg_todo_item_tombstone ON todo_item;
+CREATE TRIGGER trg_todo_item_tombstone
+    AFTER DELETE ON todo_item
+    FOR EACH ROW EXECUTE FUNCTION todo_item_record_tombstone();
+
+-- Only edits of the list's own fields; version bumps and compaction bookkeeping do not fire it
+DROP TRIGGER IF EXISTS trg_todo_list_change_version ON todo_list;
+CREATE TRIGGER trg_todo_list_change_version
+    BEFORE UPDATE OF name, description ON todo_list
+    FOR EACH ROW EXECUTE FUNCTION todo_list_set_change_version();
@@ -0,0 +1,2 @@
+-- Delta sync reads a list's items above a version in (change_version, id) order.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_item_list_id_change_version ON todo_item (list_id, change_version, id);
@@ -0,0 +1,4 @@
+-- Optimistic locking version of each list and item, exposed to clients as the ETag. Unlike change_version
+-- it counts writes to one row, so a conditional update only conflicts with writes to that same row.
+ALTER TABLE todo_list ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE todo_item ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,16 @@
+-- Emails to send, written in the same transaction as the change that triggers them and drained by a
+-- background dispatcher. A row is deleted once sent; one that keeps failing is parked as DEAD.
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL REFERENCES "user"(id) ON DELETE CASCADE,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    -- Also the claim lease: a claimed row is pushed ahead so a crashed dispatcher's work is picked up again
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Dispatchers only ever look for due pending rows
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_email_outbox_user_id ON email_outbox (user_id);
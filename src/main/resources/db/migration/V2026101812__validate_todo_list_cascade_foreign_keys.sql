@@ -0,0 +1,4 @@
+-- Checks the existing rows against the cascading foreign keys added NOT VALID in V2026101803. Validation
+-- only takes SHARE UPDATE EXCLUSIVE, so reads and writes continue while the tables are scanned.
+ALTER TABLE todo_item VALIDATE CONSTRAINT fk_todo_item_list;
+ALTER TABLE user_todo_list VALIDATE CONSTRAINT fk_user_todo_list_list;
@@ -0,0 +1,174 @@
+package com.demo.codo.controller;
+
+import com.demo.codo.TestContainerConfig;
+import com.demo.codo.constant.TestUser;
+import com.demo.codo.dto.TokenRequest;
+import com.demo.codo.dto.UserRequest;
+import com.demo.codo.repository.UserRepository;
+import com.demo.codo.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Import(TestContainerConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuthControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    void setUpOnce() {
+        userRepository.deleteAll();
+
+        UserRequest newUserRequest = UserRequest.builder()
+                .name(TestUser.NAME)
+                .email(TestUser.EMAIL)
+                .password(TestUser.PASSWORD)
+                .build();
+
+        userService.create(newUserRequest);
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void shouldAuthenticateWithIssuedToken() throws Exception {
+        String token = issueToken();
+
+        mockMvc.perform(get("/api/v1/todo/lists")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRejectTokenAfterLogout() throws Exception {
+        String token = issueToken();
+
+        mockMvc.perform(delete("/api/v1/auth/token")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/todo/lists")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRevokeAllTokens() throws Exception {
+        String first = issueToken();
+        String second = issueToken();
+
+        mockMvc.perform(delete("/api/v1/auth/tokens")
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/todo/lists")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + first))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/todo/lists")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + second))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRevokeTokensKeptAliveBeyondTheirIssueExpiry() throws Exception {
+        String token = issueToken();
+        UUID userId = userRepository.findByEmail(TestUser.EMAIL).orElseThrow().getId();
+        String userTokensKey = "session_tokens:" + userId;
+        redisTemplate.expire(userTokensKey, Duration.ofSeconds(5));
+
+        mockMvc.perform(get("/api/v1/todo/lists")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertThat(redisTemplate.getExpire(userTokensKey, TimeUnit.SECONDS)).isGreaterThan(5);
+
+        mockMvc.perform(delete("/api/v1/auth/tokens")
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/todo/lists")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRejectInvalidCredentials() throws Exception {
+        TokenRequest request = new TokenRequest(TestUser.EMAIL, "wrongpassword");
+
+        mockMvc.perform(post("/api/v1/auth/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRejectUnknownToken() throws Exception {
+        mockMvc.perform(get("/api/v1/todo/lists")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer unknown-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String issueToken() throws Exception {
+        TokenRequest request = new TokenRequest(TestUser.EMAIL, TestUser.PASSWORD);
+        String response = mockMvc.perform(post("/api/v1/auth/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+}
@@ -2,6 +2,7 @@ package com.demo.codo.controller;
 
 import com.demo.codo.annotation.AuthenticatedIntegrationTest;
 import com.demo.codo.constant.TestUser;
+import com.demo.codo.dto.BulkCollaboratorRequest;
 import com.demo.codo.dto.CollaboratorRequest;
 import com.demo.codo.dto.UserRequest;
 import com.demo.codo.entity.TodoList;
@@ -23,6 +24,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -119,6 +121,75 @@ public class CollaboratorControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void shouldGetCollaboratorsPageSortedByEmail() throws Exception {
+        User secondCollaborator = userRepository.save(User.builder()
+                .name("Another Collaborator")
+                .email("another-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .build());
+        for (User user : new User[]{collaboratorUser, secondCollaborator}) {
+            userTodoListRepository.save(UserTodoList.builder()
+                    .userId(user.getId())
+                    .listId(testTodoList.getId())
+                    .isOwner(false)
+                    .isEditable(false)
+                    .build());
+        }
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/collaborators", testTodoList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                        .param("size", "1")
+                        .param("sort", "userEmail,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].userEmail", is(secondCollaborator.getEmail())))
+                .andExpect(jsonPath("$.content[0].userName", is("Another Collaborator")))
+                .andExpect(jsonPath("$.totalElements", is(2)));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/collaborators", testTodoList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                        .param("size", "1")
+                        .param("sort", "password,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldShareWithManyCollaboratorsAtOnce() throws Exception {
+        UUID unknownUserId = UUID.randomUUID();
+        BulkCollaboratorRequest request = new BulkCollaboratorRequest(List.of(
+                CollaboratorRequest.builder().userId(collaboratorUser.getId()).canEdit(false).build(),
+                CollaboratorRequest.builder().userId(testUser.getId()).canEdit(false).build(),
+                CollaboratorRequest.builder().userId(unknownUserId).canEdit(true).build()));
+
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/collaborators/bulk", testTodoList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].outcome", is("CREATED")))
+                .andExpect(jsonPath("$[1].outcome", is("OWNER_UNCHANGED")))
+                .andExpect(jsonPath("$[2].outcome", is("USER_NOT_FOUND")));
+
+        BulkCollaboratorRequest update = new BulkCollaboratorRequest(List.of(
+                CollaboratorRequest.builder().userId(collaboratorUser.getId()).canEdit(true).build()));
+
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/collaborators/bulk", testTodoList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome", is("UPDATED")))
+                .andExpect(jsonPath("$[0].isEditable", is(true)));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/collaborators", testTodoList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].isEditable", is(true)));
+    }
+
     @Test
     void shouldAddCollaboratorByEmail() throws Exception {
         CollaboratorRequest request = CollaboratorRequest.builder()
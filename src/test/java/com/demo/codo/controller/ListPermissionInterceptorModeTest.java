@@ -0,0 +1,188 @@
+package com.demo.codo.controller;
+
+import com.demo.codo.annotation.AuthenticatedIntegrationTest;
+import com.demo.codo.aspect.ListPermissionAspect;
+import com.demo.codo.config.WebConfig;
+import com.demo.codo.constant.TestUser;
+import com.demo.codo.dto.TodoItemRequest;
+import com.demo.codo.dto.TodoListRequest;
+import com.demo.codo.dto.UserRequest;
+import com.demo.codo.entity.TodoList;
+import com.demo.codo.entity.User;
+import com.demo.codo.entity.UserTodoList;
+import com.demo.codo.enums.TodoItemStatus;
+import com.demo.codo.repository.TodoListRepository;
+import com.demo.codo.repository.UserRepository;
+import com.demo.codo.repository.UserTodoListRepository;
+import com.demo.codo.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the list permission scenarios with {@code app.security.list-permission.mode=interceptor}, where the
+ * check happens in {@link com.demo.codo.aspect.ListPermissionInterceptor} instead of the aspect.
+ */
+@AuthenticatedIntegrationTest
+@TestPropertySource(properties = "app.security.list-permission.mode=interceptor")
+class ListPermissionInterceptorModeTest {
+
+    private static final String READER_EMAIL = "reader@example.com";
+    private static final String READER_PASSWORD = "readerpassword";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private UserTodoListRepository userTodoListRepository;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private User testUser;
+    private User readerUser;
+    private TodoList ownList;
+    private TodoList foreignList;
+
+    @BeforeAll
+    void setUpOnce() {
+        userRepository.deleteAll();
+
+        testUser = userService.create(UserRequest.builder()
+                .name(TestUser.NAME)
+                .email(TestUser.EMAIL)
+                .password(TestUser.PASSWORD)
+                .build());
+        readerUser = userService.create(UserRequest.builder()
+                .name("Reader User")
+                .email(READER_EMAIL)
+                .password(READER_PASSWORD)
+                .build());
+    }
+
+    @BeforeEach
+    void setUp() {
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+
+        ownList = todoListRepository.save(TodoList.builder().name("Own List").build());
+        userTodoListRepository.save(UserTodoList.builder()
+                .userId(testUser.getId())
+                .listId(ownList.getId())
+                .isOwner(true)
+                .isEditable(true)
+                .build());
+        userTodoListRepository.save(UserTodoList.builder()
+                .userId(readerUser.getId())
+                .listId(ownList.getId())
+                .isOwner(false)
+                .isEditable(false)
+                .build());
+
+        foreignList = todoListRepository.save(TodoList.builder().name("Foreign List").build());
+    }
+
+    @Test
+    void shouldCheckPermissionsInTheInterceptor() {
+        assertThat(webApplicationContext.getBeanNamesForType(WebConfig.class)).isNotEmpty();
+        assertThat(webApplicationContext.getBeanNamesForType(ListPermissionAspect.class)).isEmpty();
+    }
+
+    @Test
+    void shouldAllowMembers() throws Exception {
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}", ownList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", ownList.getId())
+                        .with(httpBasic(READER_EMAIL, READER_PASSWORD)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/items", ownList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemRequest())))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void shouldDenyNonMembers() throws Exception {
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}", foreignList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", foreignList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/items", foreignList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemRequest())))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldDenyNonMembersBeforeValidatingTheBody() throws Exception {
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/items", foreignList.getId())
+                        .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldDenyEditsToReadOnlyCollaborators() throws Exception {
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}", ownList.getId())
+                        .with(httpBasic(READER_EMAIL, READER_PASSWORD)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/items", ownList.getId())
+                        .with(httpBasic(READER_EMAIL, READER_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemRequest())))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/v1/todo/lists/{listId}", ownList.getId())
+                        .with(httpBasic(READER_EMAIL, READER_PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoListRequest("Renamed", null))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/v1/todo/lists/{listId}", ownList.getId())
+                        .with(httpBasic(READER_EMAIL, READER_PASSWORD)))
+                .andExpect(status().isForbidden());
+    }
+
+    private static TodoItemRequest itemRequest() {
+        return new TodoItemRequest("Task", "Description", LocalDate.now(), TodoItemStatus.TODO);
+    }
+}
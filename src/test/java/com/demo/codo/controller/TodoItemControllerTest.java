@@ -3,34 +3,53 @@ package com.demo.codo.controller;
 import com.demo.codo.annotation.AuthenticatedIntegrationTest;
 import com.demo.codo.constant.TestUser;
 import com.demo.codo.dto.*;
+import com.demo.codo.entity.TodoItem;
+import com.demo.codo.entity.TodoList;
 import com.demo.codo.entity.User;
+import com.demo.codo.enums.TodoItemOperationType;
 import com.demo.codo.enums.TodoItemStatus;
+import com.demo.codo.repository.TodoItemRepository;
 import com.demo.codo.repository.TodoListRepository;
 import com.demo.codo.repository.UserRepository;
 import com.demo.codo.repository.UserTodoListRepository;
 import com.demo.codo.service.TodoListService;
 import com.demo.codo.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.core.Is.is;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AuthenticatedIntegrationTest
@@ -52,10 +71,19 @@ class TodoItemControllerTest {
 
     @Autowired
     private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoItemRepository todoItemRepository;
     
     @Autowired
     private UserTodoListRepository userTodoListRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private ObjectMapper objectMapper;
 
     private TodoListDto testList;
@@ -161,6 +189,66 @@ class TodoItemControllerTest {
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
     }
 
+    @Test
+    void shouldApplyConditionalUpdatesAndRevalidateWithETag() throws Exception {
+        TodoItemRequest createRequest = new TodoItemRequest("Versioned task", null, null, TodoItemStatus.TODO);
+        MvcResult createResult = mockMvc.perform(post("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        TodoItemDto created = objectMapper.readValue(createResult.getResponse().getContentAsString(), TodoItemDto.class);
+
+        String eTag = mockMvc.perform(get("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), created.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), created.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        String updatedETag = mockMvc.perform(patch("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), created.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoItemRequest(null, null, null, TodoItemStatus.IN_PROGRESS))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).isNotEqualTo(eTag);
+
+        // A second writer holding the old version must not overwrite the first one's change
+        mockMvc.perform(patch("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), created.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoItemRequest(null, null, null, TodoItemStatus.CANCELLED))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), created.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, updatedETag))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+
+        mockMvc.perform(patch("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), created.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .header(HttpHeaders.IF_MATCH, "not-an-etag")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoItemRequest(null, null, null, TodoItemStatus.CANCELLED))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldDeleteTodoItemSuccessfully() throws Exception {
         TodoItemRequest request = new TodoItemRequest("Task to delete", "Description", LocalDate.now(), TodoItemStatus.TODO);
@@ -182,6 +270,27 @@ class TodoItemControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void shouldDenyItemReadsToNonMembers() throws Exception {
+        TodoItem ownItem = todoItemRepository.save(TodoItem.builder().listId(testList.getId()).name("Own").status(TodoItemStatus.TODO).build());
+        TodoList foreignList = todoListRepository.save(TodoList.builder().name("Foreign List").build());
+        TodoItem foreignItem = todoItemRepository.save(TodoItem.builder().listId(foreignList.getId()).name("Foreign").status(TodoItemStatus.TODO).build());
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items/{id}", foreignList.getId(), foreignItem.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isForbidden());
+        // Without membership a missing item is indistinguishable from an existing one
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items/{id}", foreignList.getId(), UUID.randomUUID())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), ownItem.getId())
+                .with(user("anonymous-principal")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), UUID.randomUUID())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void shouldFilterTodoItemsByStatus() throws Exception {
         mockMvc.perform(post("/api/v1/todo/lists/{listId}/items", testList.getId())
@@ -639,6 +748,530 @@ class TodoItemControllerTest {
                 .andExpect(jsonPath("$.content[*].status", everyItem(is("TODO"))));
     }
 
+    @Test
+    void shouldPaginateTodoItemsByCursor() throws Exception {
+        LocalDate today = LocalDate.now();
+        createTodoItem("Task 1", "Description 1", today.plusDays(2), TodoItemStatus.TODO);
+        createTodoItem("Task 2", "Description 2", null, TodoItemStatus.TODO);
+        createTodoItem("Task 3", "Description 3", today, TodoItemStatus.TODO);
+        createTodoItem("Task 4", "Description 4", today.plusDays(1), TodoItemStatus.COMPLETED);
+
+        MvcResult firstResult = mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("cursor", "")
+                .param("sort", "dueDate,asc")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name").value("Task 3"))
+                .andExpect(jsonPath("$.content[1].name").value("Task 4"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn();
+
+        String nextCursor = objectMapper.readTree(firstResult.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("cursor", nextCursor)
+                .param("sort", "dueDate,asc")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name").value("Task 1"))
+                .andExpect(jsonPath("$.content[1].name").value("Task 2"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldFilterTodoItemsByCursorInDescendingOrder() throws Exception {
+        createTodoItem("A Task", "Description 1", LocalDate.now(), TodoItemStatus.TODO);
+        createTodoItem("B Task", "Description 2", LocalDate.now(), TodoItemStatus.COMPLETED);
+        createTodoItem("C Task", "Description 3", LocalDate.now(), TodoItemStatus.TODO);
+
+        MvcResult firstResult = mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("cursor", "")
+                .param("status", "TODO")
+                .param("sort", "name,desc")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("C Task"))
+                .andReturn();
+
+        String nextCursor = objectMapper.readTree(firstResult.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("cursor", nextCursor)
+                .param("status", "TODO")
+                .param("sort", "name,desc")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("A Task"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("cursor", nextCursor)
+                .param("sort", "name,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectUnsupportedCursorSortField() throws Exception {
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("cursor", "")
+                .param("sort", "description,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldApplyBatchOfOperations() throws Exception {
+        createTodoItem("Keep me", "Description 1", LocalDate.now(), TodoItemStatus.TODO);
+        createTodoItem("Delete me", "Description 2", LocalDate.now(), TodoItemStatus.TODO);
+        String listing = mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("sort", "name,asc"))
+                .andReturn().getResponse().getContentAsString();
+        String deleteId = objectMapper.readTree(listing).get("content").get(0).get("id").asText();
+        String updateId = objectMapper.readTree(listing).get("content").get(1).get("id").asText();
+
+        TodoItemBatchRequest request = new TodoItemBatchRequest(List.of(
+                new TodoItemOperation(TodoItemOperationType.CREATE, null, new TodoItemRequest("New task", null, null, TodoItemStatus.TODO)),
+                new TodoItemOperation(TodoItemOperationType.UPDATE, UUID.fromString(updateId), new TodoItemRequest(null, null, null, TodoItemStatus.COMPLETED)),
+                new TodoItemOperation(TodoItemOperationType.DELETE, UUID.fromString(deleteId), null)));
+
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/items/batch", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(true))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].item.name").value("New task"))
+                .andExpect(jsonPath("$.results[1].status").value(200))
+                .andExpect(jsonPath("$.results[1].item.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.results[2].status").value(204));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("sort", "name,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name").value("Keep me"))
+                .andExpect(jsonPath("$.content[1].name").value("New task"));
+    }
+
+    @Test
+    void shouldRejectWholeBatchWhenAnyOperationIsInvalid() throws Exception {
+        TodoItemBatchRequest request = new TodoItemBatchRequest(List.of(
+                new TodoItemOperation(TodoItemOperationType.CREATE, null, new TodoItemRequest("Valid task", null, null, TodoItemStatus.TODO)),
+                new TodoItemOperation(TodoItemOperationType.CREATE, null, new TodoItemRequest("", null, null, TodoItemStatus.TODO)),
+                new TodoItemOperation(TodoItemOperationType.DELETE, UUID.randomUUID(), null)));
+
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/items/batch", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.applied").value(false))
+                .andExpect(jsonPath("$.results[0].status").value(424))
+                .andExpect(jsonPath("$.results[1].status").value(400))
+                .andExpect(jsonPath("$.results[1].error").exists())
+                .andExpect(jsonPath("$.results[2].status").value(404));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void shouldCompleteAllMatchingTodoItems() throws Exception {
+        LocalDate today = LocalDate.now();
+        createTodoItem("Task 1", "Description 1", today, TodoItemStatus.TODO);
+        createTodoItem("Task 2", "Description 2", today, TodoItemStatus.IN_PROGRESS);
+        createTodoItem("Task 3", "Description 3", today.plusDays(5), TodoItemStatus.TODO);
+        createTodoItem("Task 4", "Description 4", today, TodoItemStatus.COMPLETED);
+
+        mockMvc.perform(patch("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("dueDateTo", today.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoItemStatusRequest(TodoItemStatus.COMPLETED))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)));
+    }
+
+    @Test
+    void shouldClearCompletedTodoItems() throws Exception {
+        createTodoItem("Task 1", "Description 1", LocalDate.now(), TodoItemStatus.COMPLETED);
+        createTodoItem("Task 2", "Description 2", LocalDate.now(), TodoItemStatus.COMPLETED);
+        createTodoItem("Task 3", "Description 3", LocalDate.now(), TodoItemStatus.TODO);
+
+        mockMvc.perform(delete("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Task 3"));
+    }
+
+    @Test
+    void shouldExportTodoItemsAndResumeAfterLastId() throws Exception {
+        createTodoItem("Task 1", "Description, with comma", LocalDate.now(), TodoItemStatus.TODO);
+        createTodoItem("Task 2", "Description 2", LocalDate.now(), TodoItemStatus.COMPLETED);
+        createTodoItem("Task 3", "Say \"hi\"", null, TodoItemStatus.TODO);
+
+        String[] lines = export("format", "ndjson", "status", "TODO").split("\n");
+        assertThat(lines).hasSize(2);
+        TodoItemResponse first = objectMapper.readValue(lines[0], TodoItemResponse.class);
+        TodoItemResponse second = objectMapper.readValue(lines[1], TodoItemResponse.class);
+        // PostgreSQL orders uuids bytewise, which matches their lowercase text form
+        assertThat(first.getId().toString()).isLessThan(second.getId().toString());
+        assertThat(List.of(first.getName(), second.getName())).containsExactlyInAnyOrder("Task 1", "Task 3");
+
+        String resumed = export("format", "ndjson", "status", "TODO", "afterId", first.getId().toString());
+        assertThat(objectMapper.readValue(resumed.trim(), TodoItemResponse.class).getId()).isEqualTo(second.getId());
+
+        String csv = export("format", "csv");
+        assertThat(csv).startsWith("id,listId,name,description,dueDate,status,createdAt,updatedAt\n");
+        assertThat(csv).contains(",\"Description, with comma\",", ",\"Say \"\"hi\"\"\",,TODO,");
+        assertThat(csv.split("\n")).hasSize(4);
+    }
+
+    @Test
+    void shouldRejectUnsupportedExportFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items/export", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldImportCsvAndReportRejectedRows() throws Exception {
+        String csv = "name,description,dueDate,status\n" +
+                "Task 1,\"Multi-line\ndescription, quoted\",2030-01-31,TODO\n" +
+                ",Missing name,,TODO\n" +
+                "Task 3,,not-a-date,COMPLETED\n" +
+                "\n" +
+                "Task 4,,,IN_PROGRESS\n";
+
+        String[] report = mockMvc.perform(post("/api/v1/todo/lists/{listId}/items/import", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("format", "csv")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8)
+                .split("\n");
+
+        assertThat(report).hasSize(3);
+        assertThat(objectMapper.readValue(report[0], TodoItemImportRejection.class))
+                .isEqualTo(new TodoItemImportRejection(2, "name: Name is required"));
+        assertThat(objectMapper.readValue(report[1], TodoItemImportRejection.class).getRow()).isEqualTo(3);
+        assertThat(objectMapper.readValue(report[2], TodoItemImportSummary.class))
+                .isEqualTo(new TodoItemImportSummary(2, 2));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("sort", "name,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].description").value("Multi-line\ndescription, quoted"))
+                .andExpect(jsonPath("$.content[0].dueDate").value("2030-01-31"))
+                .andExpect(jsonPath("$.content[1].status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    void shouldReimportNdjsonExport() throws Exception {
+        createTodoItem("Task 1", "Description 1", LocalDate.now(), TodoItemStatus.TODO);
+        createTodoItem("Task 2", null, null, TodoItemStatus.COMPLETED);
+        String exported = export("format", "ndjson");
+
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/items/import", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType("application/x-ndjson")
+                .content(exported + "{not json}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"error\":\"Malformed JSON\"")))
+                .andExpect(content().string(containsString("{\"imported\":2,\"rejected\":1}")));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)));
+    }
+
+    @Test
+    void shouldSearchTodoItemsByRelevance() throws Exception {
+        createTodoItem("Buy milk", "Semi-skimmed", LocalDate.now(), TodoItemStatus.TODO);
+        createTodoItem("Reports archive", "Old files", LocalDate.now(), TodoItemStatus.TODO);
+        createTodoItem("Write report", "Quarterly report for finance", LocalDate.now(), TodoItemStatus.TODO);
+        createTodoItem("Call finance", "About the reporting deadline", LocalDate.now(), TodoItemStatus.COMPLETED);
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("q", "reports"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].item.name").value("Write report"))
+                .andExpect(jsonPath("$.content[0].nameHighlight").value("Write <b>report</b>"))
+                .andExpect(jsonPath("$.content[0].descriptionHighlight", containsString("<b>report</b>")))
+                .andExpect(jsonPath("$.content[2].item.name").value("Call finance"))
+                .andExpect(jsonPath("$.last").value(true));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("q", "report -finance")
+                .param("status", "TODO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].item.name").value("Reports archive"));
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("q", "report")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    @Test
+    void shouldServeCachedItemPagesUntilTheListChanges() throws Exception {
+        createTodoItem("First", null, null, TodoItemStatus.TODO);
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        // Written behind the services' back, so the cached page is still served
+        todoItemRepository.save(TodoItem.builder().listId(testList.getId()).name("Unannounced").status(TodoItemStatus.TODO).build());
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("First"));
+
+        createTodoItem("Second", null, null, TodoItemStatus.TODO);
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    void shouldSearchOnlyAccessibleListsAcrossLists() throws Exception {
+        createTodoItem("Plan offsite", null, null, TodoItemStatus.TODO);
+        TodoListDto otherList = createTodoList("Other List", null);
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/items", otherList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoItemRequest("Book offsite venue", null, null, TodoItemStatus.TODO))))
+                .andExpect(status().isCreated());
+        TodoList foreignList = todoListRepository.save(TodoList.builder().name("Foreign List").build());
+        todoItemRepository.save(TodoItem.builder().listId(foreignList.getId()).name("Offsite budget").status(TodoItemStatus.TODO).build());
+
+        mockMvc.perform(get("/api/v1/todo/items")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("q", "offsite"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[*].item.listId", containsInAnyOrder(
+                        testList.getId().toString(), otherList.getId().toString())));
+
+        mockMvc.perform(get("/api/v1/todo/items")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectCrossListSearchWithoutUserIdentity() throws Exception {
+        createTodoItem("Plan offsite", null, null, TodoItemStatus.TODO);
+
+        // An authenticated principal that carries no user id must not widen the search to every list
+        mockMvc.perform(get("/api/v1/todo/items")
+                .with(user("anonymous-principal"))
+                .param("q", "offsite"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldGetAccessibleTodoItemsByDueDateAcrossLists() throws Exception {
+        LocalDate today = LocalDate.now();
+        createTodoItem("Overdue", null, today.minusDays(2), TodoItemStatus.TODO);
+        createTodoItem("Someday", null, null, TodoItemStatus.TODO);
+        createTodoItem("Done", null, today, TodoItemStatus.COMPLETED);
+        TodoListDto otherList = createTodoList("Other List", null);
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/items", otherList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoItemRequest("Upcoming", null, today.plusDays(3), TodoItemStatus.TODO))))
+                .andExpect(status().isCreated());
+        TodoList foreignList = todoListRepository.save(TodoList.builder().name("Foreign List").build());
+        todoItemRepository.save(TodoItem.builder().listId(foreignList.getId()).name("Foreign").dueDate(today).status(TodoItemStatus.TODO).build());
+
+        MvcResult firstSlice = mockMvc.perform(get("/api/v1/todo/items")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Overdue", "Done")))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+        String nextCursor = objectMapper.readTree(firstSlice.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/todo/items")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("size", "2")
+                .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Upcoming")))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/v1/todo/items")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("status", "TODO")
+                .param("dueDateTo", today.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Overdue")));
+    }
+
+    @Test
+    void shouldRejectAccessibleItemListingWithoutUserIdentity() throws Exception {
+        createTodoItem("Overdue", null, LocalDate.now().minusDays(1), TodoItemStatus.TODO);
+
+        mockMvc.perform(get("/api/v1/todo/items")
+                .with(user("anonymous-principal")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldReturnChangesSinceVersion() throws Exception {
+        createTodoItem("Task 1", null, null, TodoItemStatus.TODO);
+        createTodoItem("Task 2", null, null, TodoItemStatus.TODO);
+
+        JsonNode initial = getChanges("0", null, "10");
+        assertThat(initial.get("changed")).hasSize(2);
+        assertThat(initial.get("deleted")).isEmpty();
+        long version = initial.get("version").asLong();
+        UUID first = UUID.fromString(initial.get("changed").get(0).get("id").asText());
+        UUID second = UUID.fromString(initial.get("changed").get(1).get("id").asText());
+
+        assertThat(getChanges(String.valueOf(version), null, "10").get("changed")).isEmpty();
+
+        TodoItemRequest update = new TodoItemRequest(null, null, null, TodoItemStatus.COMPLETED);
+        mockMvc.perform(patch("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), first)
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), second)
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isNoContent());
+        createTodoItem("Task 3", null, null, TodoItemStatus.TODO);
+
+        JsonNode firstSlice = getChanges(String.valueOf(version), null, "2");
+        assertThat(firstSlice.get("hasNext").asBoolean()).isTrue();
+        JsonNode secondSlice = getChanges(String.valueOf(version), firstSlice.get("nextCursor").asText(), "2");
+        assertThat(secondSlice.get("hasNext").asBoolean()).isFalse();
+        assertThat(secondSlice.get("version").asLong()).isEqualTo(version + 3);
+
+        List<String> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        for (JsonNode slice : List.of(firstSlice, secondSlice)) {
+            slice.get("changed").forEach(item -> changed.add(item.get("name").asText()));
+            slice.get("deleted").forEach(id -> deleted.add(id.asText()));
+        }
+        assertThat(changed).containsExactly("Task 1", "Task 3");
+        assertThat(deleted).containsExactly(second.toString());
+    }
+
+    @Test
+    void shouldReturnItemsPredatingChangeVersionsOnFreshSync() throws Exception {
+        createTodoItem("Legacy", null, null, TodoItemStatus.TODO);
+        // Rows that existed before the change version migration carry its default; triggers would bump them
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL session_replication_role = replica");
+            jdbcTemplate.update("UPDATE todo_item SET change_version = 0 WHERE list_id = ?", testList.getId());
+            jdbcTemplate.update("UPDATE todo_list SET change_version = 0 WHERE id = ?", testList.getId());
+        });
+
+        JsonNode initial = getChanges("0", null, "10");
+        assertThat(initial.get("version").asLong()).isZero();
+        assertThat(initial.get("changed")).hasSize(1);
+        assertThat(initial.get("changed").get(0).get("name").asText()).isEqualTo("Legacy");
+    }
+
+    @Test
+    void shouldRequireResyncOnceTombstonesAreCompacted() throws Exception {
+        createTodoItem("Task 1", null, null, TodoItemStatus.TODO);
+        long version = getChanges("0", null, "10").get("version").asLong();
+        UUID id = UUID.fromString(getChanges("0", null, "10").get("changed").get(0).get("id").asText());
+        mockMvc.perform(delete("/api/v1/todo/lists/{listId}/items/{id}", testList.getId(), id)
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isNoContent());
+
+        assertThat(todoItemRepository.compactTombstones(LocalDateTime.now().plusDays(1), 100)).isEqualTo(1);
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/items/changes", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("since", String.valueOf(version)))
+                .andExpect(status().isGone());
+        assertThat(getChanges(String.valueOf(version + 1), null, "10").get("deleted")).isEmpty();
+    }
+
+    private JsonNode getChanges(String since, String cursor, String size) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/api/v1/todo/lists/{listId}/items/changes", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("since", since)
+                .param("size", size);
+        if (cursor != null) {
+            builder.param("cursor", cursor);
+        }
+        String body = mockMvc.perform(builder)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private String export(String... params) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/api/v1/todo/lists/{listId}/items/export", testList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD));
+        for (int i = 0; i < params.length; i += 2) {
+            builder.param(params[i], params[i + 1]);
+        }
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+
     private void createTodoItem(String name, String description, LocalDate dueDate, TodoItemStatus status) throws Exception {
         TodoItemRequest request = new TodoItemRequest(name, description, dueDate, status);
         mockMvc.perform(post("/api/v1/todo/lists/{listId}/items", testList.getId())
@@ -2,8 +2,14 @@ package com.demo.codo.controller;
 
 import com.demo.codo.annotation.AuthenticatedIntegrationTest;
 import com.demo.codo.constant.TestUser;
+import com.demo.codo.dto.CollaboratorRequest;
+import com.demo.codo.dto.TodoItemRequest;
 import com.demo.codo.dto.TodoListRequest;
 import com.demo.codo.dto.UserRequest;
+import com.demo.codo.entity.TodoList;
+import com.demo.codo.entity.User;
+import com.demo.codo.enums.TodoItemStatus;
+import com.demo.codo.repository.TodoListRepository;
 import com.demo.codo.repository.UserRepository;
 import com.demo.codo.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,10 +20,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +48,9 @@ class TodoListControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TodoListRepository todoListRepository;
+
     private ObjectMapper objectMapper;
 
     @BeforeAll
@@ -89,6 +105,57 @@ class TodoListControllerTest {
                 .andExpect(jsonPath("$.totalElements").exists());
     }
 
+    @Test
+    void shouldGetTodoListsWithCursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/v1/todo/lists")
+                    .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TodoListRequest("Cursor List " + i, null))))
+                    .andExpect(status().isCreated());
+        }
+
+        String response = mockMvc.perform(get("/api/v1/todo/lists")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("cursor", "")
+                .param("size", "2")
+                .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andExpect(jsonPath("$.totalElements").exists())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var firstPage = objectMapper.readTree(response);
+        String nextCursor = firstPage.get("nextCursor").asText();
+        String lastId = firstPage.get("content").get(1).get("id").asText();
+
+        String nextResponse = mockMvc.perform(get("/api/v1/todo/lists")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("cursor", nextCursor)
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        objectMapper.readTree(nextResponse).get("content").forEach(list ->
+                assertNotEquals(lastId, list.get("id").asText()));
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/todo/lists")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldGetSingleTodoListById() throws Exception {
         var createRequest = new TodoListRequest("Test List", "Test description");
@@ -165,4 +232,121 @@ class TodoListControllerTest {
                 .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    void shouldDenyListReadsToNonMembers() throws Exception {
+        TodoList foreignList = todoListRepository.save(TodoList.builder().name("Foreign List").build());
+
+        mockMvc.perform(get("/api/v1/todo/lists/{id}", foreignList.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/todo/lists/{id}", foreignList.getId())
+                .with(user("anonymous-principal")))
+                .andExpect(status().isForbidden());
+        // Neither listing mode may fall back to every list when the principal carries no user id
+        mockMvc.perform(get("/api/v1/todo/lists")
+                .with(user("anonymous-principal"))
+                .param("page", "0")
+                .param("size", "10"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/todo/lists")
+                .with(user("anonymous-principal"))
+                .param("cursor", ""))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldStreamListChangesToSubscribers() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/todo/lists")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoListRequest("Streamed List", null))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String listId = objectMapper.readTree(response).get("id").asText();
+
+        MvcResult stream = mockMvc.perform(get("/api/v1/todo/lists/{listId}/events", listId)
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(patch("/api/v1/todo/lists/{listId}", listId)
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoListRequest("Renamed Stream", null))))
+                .andExpect(status().isOk());
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/v1/todo/lists/{listId}/items", listId)
+                    .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TodoItemRequest("Item " + i, null, null, TodoItemStatus.TODO))))
+                    .andExpect(status().isCreated());
+        }
+        String events = awaitEvents(stream, "\"type\":\"ITEMS\"");
+        assertThat(events).contains("event:change", "\"listId\":\"" + listId + "\"", "\"type\":\"LIST\"");
+
+        mockMvc.perform(delete("/api/v1/todo/lists/{listId}", listId)
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isNoContent());
+        awaitEvents(stream, "\"type\":\"DELETED\"");
+    }
+
+    @Test
+    void shouldCloseStreamsWhenCollaboratorsChange() throws Exception {
+        String streamerPassword = "streamerpassword";
+        User streamer = userService.create(UserRequest.builder()
+                .name("Streamer")
+                .email("streamer-" + UUID.randomUUID() + "@example.com")
+                .password(streamerPassword)
+                .build());
+        String response = mockMvc.perform(post("/api/v1/todo/lists")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoListRequest("Shared Stream", null))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String listId = objectMapper.readTree(response).get("id").asText();
+        mockMvc.perform(post("/api/v1/todo/lists/{listId}/collaborators", listId)
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(CollaboratorRequest.builder().userId(streamer.getId()).canEdit(false).build())))
+                .andExpect(status().isCreated());
+
+        MvcResult stream = mockMvc.perform(get("/api/v1/todo/lists/{listId}/events", listId)
+                .with(httpBasic(streamer.getEmail(), streamerPassword))
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(delete("/api/v1/todo/lists/{listId}/collaborators/{userId}", listId, streamer.getId())
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isNoContent());
+        awaitEvents(stream, "\"type\":\"COLLABORATORS\"");
+        // Completed once the event is sent; waits up to the timeout and fails if the stream is still open
+        stream.getAsyncResult(10_000);
+
+        mockMvc.perform(get("/api/v1/todo/lists/{listId}/events", listId)
+                .with(httpBasic(streamer.getEmail(), streamerPassword))
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Waits for the streamed response to contain the given text; events are flushed on a background tick.
+     */
+    private String awaitEvents(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String content = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            content = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
 }
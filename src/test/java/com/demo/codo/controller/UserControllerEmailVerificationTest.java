@@ -2,7 +2,10 @@ package com.demo.codo.controller;
 
 import com.demo.codo.TestContainerConfig;
 import com.demo.codo.dto.UserRequest;
+import com.demo.codo.entity.EmailOutbox;
 import com.demo.codo.entity.User;
+import com.demo.codo.enums.EmailOutboxStatus;
+import com.demo.codo.repository.EmailOutboxRepository;
 import com.demo.codo.repository.UserRepository;
 import com.demo.codo.service.EmailSender;
 import com.demo.codo.service.TokenService;
@@ -22,6 +25,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -29,7 +36,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.email.outbox.dispatcher-enabled=true")
 @AutoConfigureWebMvc
 @ActiveProfiles("test")
 @Import(TestContainerConfig.class)
@@ -49,6 +56,9 @@ class UserControllerEmailVerificationTest {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
     @Autowired
     private RedisTemplate<String, String> redisTemplate;
 
@@ -75,13 +85,35 @@ class UserControllerEmailVerificationTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated());
 
-        verify(emailSender, times(1)).sendVerificationEmail(
+        verify(emailSender, timeout(5000).times(1)).sendVerificationEmail(
                 eq("newuser@example.com"),
                 anyString()
         );
 
         User createdUser = userRepository.findByEmail("newuser@example.com").orElseThrow();
         assertThat(createdUser.getEmailVerified()).isFalse();
+        awaitOutbox(createdUser.getId(), List::isEmpty);
+    }
+
+    @Test
+    void shouldRetryVerificationEmailUntilItIsSent() throws Exception {
+        doThrow(new RuntimeException("Email service unavailable"))
+                .doNothing()
+                .when(emailSender).sendVerificationEmail(anyString(), anyString());
+
+        UserRequest request = UserRequest.builder()
+                .name("New User")
+                .email("retried@example.com")
+                .password("password123")
+                .build();
+
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        verify(emailSender, timeout(5000).times(2)).sendVerificationEmail(eq("retried@example.com"), anyString());
+        awaitOutbox(userRepository.findByEmail("retried@example.com").orElseThrow().getId(), List::isEmpty);
     }
 
     @Test
@@ -189,6 +221,13 @@ class UserControllerEmailVerificationTest {
 
         User createdUser = userRepository.findByEmail("newuser2@example.com").orElseThrow();
         assertThat(createdUser.getEmailVerified()).isFalse();
+
+        // Test profile allows three attempts before the email is dead-lettered
+        List<EmailOutbox> outbox = awaitOutbox(createdUser.getId(),
+                rows -> rows.size() == 1 && rows.get(0).getStatus() == EmailOutboxStatus.DEAD);
+        assertThat(outbox.get(0).getAttempts()).isEqualTo(3);
+        assertThat(outbox.get(0).getLastError()).contains("Email service unavailable");
+        verify(emailSender, times(3)).sendVerificationEmail(eq("newuser2@example.com"), anyString());
     }
 
     @Test
@@ -215,4 +254,18 @@ class UserControllerEmailVerificationTest {
 
         verify(emailSender, never()).sendVerificationEmail(anyString(), anyString());
     }
+
+    /**
+     * Waits for the user's outbox rows to match; emails are sent by a background dispatcher.
+     */
+    private List<EmailOutbox> awaitOutbox(UUID userId, Predicate<List<EmailOutbox>> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<EmailOutbox> rows = emailOutboxRepository.findByUserId(userId);
+        while (!condition.test(rows) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            rows = emailOutboxRepository.findByUserId(userId);
+        }
+        assertThat(condition.test(rows)).isTrue();
+        return rows;
+    }
 }
@@ -0,0 +1,110 @@
+package com.demo.codo.repository;
+
+import com.demo.codo.SqlCaptureInspector;
+import com.demo.codo.TestContainerConfig;
+import com.demo.codo.enums.TodoItemStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestContainerConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TodoItemQueryPlanTest {
+    private static final String SEED_LIST_PREFIX = "Plan seed list ";
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID listId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO todo_list (id, name) " +
+                "SELECT uuid_generate_v4(), ? || g FROM generate_series(1, 500) g", SEED_LIST_PREFIX);
+        jdbcTemplate.update("INSERT INTO todo_item (list_id, name, due_date, status) " +
+                "SELECT l.id, 'Seed item ' || g, current_date + (g % 60), " +
+                "(ARRAY['TODO', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED'])[1 + g % 4] " +
+                "FROM todo_list l CROSS JOIN generate_series(1, 100) g WHERE l.name LIKE ?", SEED_LIST_PREFIX + "%");
+        jdbcTemplate.execute("ANALYZE todo_item");
+        listId = jdbcTemplate.queryForObject("SELECT id FROM todo_list WHERE name = ?", UUID.class, SEED_LIST_PREFIX + 1);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM todo_item WHERE list_id IN (SELECT id FROM todo_list WHERE name LIKE ?)", SEED_LIST_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM todo_list WHERE name LIKE ?", SEED_LIST_PREFIX + "%");
+    }
+
+    @Test
+    void shouldUseIndexesForEveryFilterCombination() {
+        LocalDate dueDateFrom = LocalDate.now().plusDays(10);
+        LocalDate dueDateTo = LocalDate.now().plusDays(20);
+
+        for (TodoItemStatus status : new TodoItemStatus[]{null, TodoItemStatus.TODO}) {
+            for (LocalDate from : new LocalDate[]{null, dueDateFrom}) {
+                for (LocalDate to : new LocalDate[]{null, dueDateTo}) {
+                    List<String> parameters = new ArrayList<>();
+                    parameters.add("'" + listId + "'");
+                    if (status != null) {
+                        parameters.add("'" + status.name() + "'");
+                    }
+                    if (from != null) {
+                        parameters.add("'" + from + "'");
+                    }
+                    if (to != null) {
+                        parameters.add("'" + to + "'");
+                    }
+                    parameters.add(String.valueOf(PAGE_SIZE));
+
+                    SqlCaptureInspector.start();
+                    todoItemRepository.findAll(TodoItemSpecifications.filter(listId, status, from, to), PageRequest.of(0, PAGE_SIZE));
+                    List<String> statements = SqlCaptureInspector.stop();
+
+                    assertThat(statements).as("statements for status=%s, from=%s, to=%s", status, from, to).isNotEmpty();
+                    for (String sql : statements) {
+                        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + bind(sql, parameters), String.class));
+                        assertThat(plan)
+                                .as("plan for status=%s, from=%s, to=%s:%n%s", status, from, to, plan)
+                                .doesNotContain("Seq Scan on todo_item");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Inlines the parameters in binding order; Hibernate binds the filter values before the row limit.
+     */
+    private static String bind(String sql, List<String> parameters) {
+        StringBuilder bound = new StringBuilder();
+        int next = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                bound.append(parameters.get(next++));
+            } else {
+                bound.append(c);
+            }
+        }
+        return bound.toString();
+    }
+}
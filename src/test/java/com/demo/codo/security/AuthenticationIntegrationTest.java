@@ -4,7 +4,9 @@ import com.demo.codo.TestContainerConfig;
 import com.demo.codo.constant.TestUser;
 import com.demo.codo.dto.UserRequest;
 import com.demo.codo.repository.UserRepository;
+import com.demo.codo.security.CustomUserDetailsService.CustomUserDetails;
 import com.demo.codo.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,11 +15,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -37,6 +45,14 @@ class AuthenticationIntegrationTest {
     private UserService userService;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private AuthenticationCache authenticationCache;
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     private MockMvc mockMvc;
 
@@ -60,6 +76,7 @@ class AuthenticationIntegrationTest {
                 .webAppContextSetup(context)
                 .apply(springSecurity())
                 .build();
+        authenticationCache.evictAll();
     }
 
     @Test
@@ -97,4 +114,50 @@ class AuthenticationIntegrationTest {
         mockMvc.perform(get("/api/v1/todo/lists/123e4567-e89b-12d3-a456-426614174000"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void shouldServeRepeatedCredentialsFromCache() throws Exception {
+        long hitsBefore = authenticationCache.stats().hitCount();
+
+        mockMvc.perform(get("/api/v1/todo/lists")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/todo/lists")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk());
+
+        assertThat(authenticationCache.stats().hitCount()).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void shouldDenyWrongPasswordAfterCachedLogin() throws Exception {
+        mockMvc.perform(get("/api/v1/todo/lists")
+                .with(httpBasic(TestUser.EMAIL, TestUser.PASSWORD)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/todo/lists")
+                .with(httpBasic(TestUser.EMAIL, "wrongpassword")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldEvictCachedAuthenticationsOnOtherNodes() throws InterruptedException {
+        AuthenticationCache otherNode = new AuthenticationCache(redisTemplate, listenerContainer,
+                Duration.ofMinutes(5), 100, meterRegistry);
+        UUID userId = userRepository.findByEmail(TestUser.EMAIL).orElseThrow().getId();
+        otherNode.put(TestUser.EMAIL, TestUser.PASSWORD, CustomUserDetails.builder()
+                .id(userId)
+                .name(TestUser.NAME)
+                .email(TestUser.EMAIL)
+                .build());
+
+        authenticationCache.evict(userId);
+
+        // Invalidation arrives over pub/sub; until then the other node keeps its entry
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (otherNode.get(TestUser.EMAIL, TestUser.PASSWORD) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(otherNode.get(TestUser.EMAIL, TestUser.PASSWORD)).isNull();
+    }
 }
@@ -15,7 +15,15 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -140,6 +148,38 @@ class EmailVerificationIntegrationTest {
         assertFalse(result);
     }
 
+    @Test
+    void shouldAcceptTokenOnlyOnceUnderConcurrentVerification() throws Exception {
+        String token = tokenService.generate(testUser.getId());
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<Boolean> verification = () -> {
+                    start.await();
+                    return emailVerificationService.verifyEmail(token);
+                };
+                results.add(executor.submit(verification));
+            }
+            start.countDown();
+
+            int accepted = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    accepted++;
+                }
+            }
+            assertThat(accepted).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(userRepository.findById(testUser.getId()).orElseThrow().getEmailVerified());
+        assertThat(tokenService.verifyToken(token)).isNull();
+    }
+
     @Test
     void shouldGenerateUniqueTokens() {
         String token1 = tokenService.generate(testUser.getId());
@@ -0,0 +1,152 @@
+package com.demo.codo.service;
+
+import com.demo.codo.TestContainerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestContainerConfig.class)
+class ListPermissionCacheTest {
+
+    private static final Duration NEAR_TTL = Duration.ofMinutes(1);
+    private static final Duration REDIS_TTL = Duration.ofMinutes(5);
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<Integer> loader = () -> {
+        loads.incrementAndGet();
+        return ListPermissionCache.READ;
+    };
+
+    @Test
+    void shouldServeRepeatedChecksFromCache() {
+        ListPermissionCache cache = newNode();
+        UUID listId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        assertThat(cache.get(userId, listId, loader)).isEqualTo(ListPermissionCache.READ);
+        assertThat(cache.get(userId, listId, loader)).isEqualTo(ListPermissionCache.READ);
+        // A node with a cold near-cache is served from Redis
+        assertThat(newNode().get(userId, listId, loader)).isEqualTo(ListPermissionCache.READ);
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictOnlyOnceTheWritingTransactionCommits() {
+        ListPermissionCache cache = newNode();
+        UUID listId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        cache.get(userId, listId, loader);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cache.evict(listId, userId);
+            cache.get(userId, listId, loader);
+            assertThat(loads.get()).isEqualTo(1);
+        });
+
+        cache.get(userId, listId, loader);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSkipEvictionWhenTheWritingTransactionRollsBack() {
+        ListPermissionCache cache = newNode();
+        UUID listId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        cache.get(userId, listId, loader);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cache.evictList(listId);
+            status.setRollbackOnly();
+        });
+
+        cache.get(userId, listId, loader);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotStoreGrantLoadedBeforeRevocation() {
+        ListPermissionCache checking = newNode();
+        ListPermissionCache revoking = newNode();
+        UUID listId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        // The check reads the grant, then the revocation commits and evicts before the check stores it
+        int stale = checking.get(userId, listId, () -> {
+            revoking.evict(listId, userId);
+            return ListPermissionCache.EDIT | ListPermissionCache.READ;
+        });
+
+        assertThat(stale).isEqualTo(ListPermissionCache.EDIT | ListPermissionCache.READ);
+        assertThat(redisTemplate.opsForHash().get("list_permission:" + listId, userId.toString())).isNull();
+        assertThat(newNode().get(userId, listId, loader)).isEqualTo(ListPermissionCache.READ);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateOtherNodesNearCaches() throws InterruptedException {
+        ListPermissionCache writer = newNode();
+        ListPermissionCache reader = newNode();
+        UUID listId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        reader.get(userId, listId, loader);
+
+        writer.evict(listId, userId);
+
+        // Invalidation arrives over pub/sub; until then the reader keeps its near-cache entry
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (loads.get() < 2 && System.currentTimeMillis() < deadline) {
+            reader.get(userId, listId, loader);
+            Thread.sleep(50);
+        }
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotExtendListExpiryOnLaterMisses() throws InterruptedException {
+        ListPermissionCache cache = newNode();
+        UUID listId = UUID.randomUUID();
+        cache.get(UUID.randomUUID(), listId, loader);
+        Long initialTtl = redisTemplate.getExpire("list_permission:" + listId, TimeUnit.MILLISECONDS);
+
+        Thread.sleep(1_100);
+        cache.get(UUID.randomUUID(), listId, loader);
+
+        Long laterTtl = redisTemplate.getExpire("list_permission:" + listId, TimeUnit.MILLISECONDS);
+        assertThat(initialTtl).isPositive().isLessThanOrEqualTo(REDIS_TTL.toMillis());
+        assertThat(laterTtl).isPositive().isLessThan(initialTtl - 1_000);
+    }
+
+    private ListPermissionCache newNode() {
+        return new ListPermissionCache(redisTemplate, listenerContainer, meterRegistry, NEAR_TTL, 1_000, REDIS_TTL);
+    }
+}
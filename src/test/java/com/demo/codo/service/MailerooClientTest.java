@@ -0,0 +1,150 @@
+package com.demo.codo.service;
+
+import com.demo.codo.exception.EmailDeliveryException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the client against a local stub of the Maileroo API that can answer slowly or with errors.
+ */
+class MailerooClientTest {
+
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofMillis(300);
+
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+    private final List<String> apiKeys = new CopyOnWriteArrayList<>();
+    private volatile int defaultStatus = 200;
+    private volatile long delayMillis;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private MailerooClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/send", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+        client = new MailerooClient("test-api-key", "from@test.com",
+                "http://localhost:" + server.getAddress().getPort() + "/send",
+                Duration.ofSeconds(1), RESPONSE_TIMEOUT, 4, 2, Duration.ofSeconds(1),
+                3, Duration.ofMillis(10), 3, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldReuseOneKeptAliveConnection() {
+        client.sendVerificationEmail("to@test.com", "http://localhost/verify?token=a");
+        client.sendVerificationEmail("to@test.com", "http://localhost/verify?token=b");
+
+        assertThat(clientPorts).hasSize(2);
+        assertThat(clientPorts.get(1)).isEqualTo(clientPorts.get(0));
+        assertThat(apiKeys).containsOnly("test-api-key");
+        assertThat(calls("success")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRetryServerErrorsUntilSent() {
+        statuses.add(503);
+        statuses.add(429);
+
+        client.sendVerificationEmail("to@test.com", "http://localhost/verify?token=a");
+
+        assertThat(clientPorts).hasSize(3);
+        assertThat(calls("server_error")).isEqualTo(1);
+        assertThat(calls("client_error")).isEqualTo(1);
+        assertThat(calls("success")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        defaultStatus = 400;
+
+        assertThrows(EmailDeliveryException.class, () -> client.sendVerificationEmail("to@test.com", "http://localhost/verify?token=a"));
+
+        assertThat(clientPorts).hasSize(1);
+        assertThat(calls("client_error")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBoundSlowResponsesByTimeout() {
+        delayMillis = 2_000;
+
+        long started = System.nanoTime();
+        assertThrows(EmailDeliveryException.class, () -> client.sendVerificationEmail("to@test.com", "http://localhost/verify?token=a"));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(1_500));
+        assertThat(calls("timeout")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFailFastWhileCircuitIsOpen() {
+        defaultStatus = 500;
+
+        assertThrows(EmailDeliveryException.class, () -> client.sendVerificationEmail("to@test.com", "http://localhost/verify?token=a"));
+        assertThat(clientPorts).hasSize(3);
+
+        long started = System.nanoTime();
+        assertThrows(EmailDeliveryException.class, () -> client.sendVerificationEmail("to@test.com", "http://localhost/verify?token=b"));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(RESPONSE_TIMEOUT);
+        assertThat(clientPorts).hasSize(3);
+        assertThat(calls("short_circuited")).isEqualTo(1);
+        assertThat(meterRegistry.get("maileroo.circuit.open").gauge().value()).isEqualTo(1);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        apiKeys.add(exchange.getRequestHeaders().getFirst("X-API-Key"));
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Integer queued = statuses.poll();
+        byte[] body = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(queued != null ? queued : defaultStatus, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private long calls(String outcome) {
+        Timer timer = meterRegistry.find("maileroo.requests").tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
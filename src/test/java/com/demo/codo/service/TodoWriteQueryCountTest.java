@@ -0,0 +1,153 @@
+package com.demo.codo.service;
+
+import com.demo.codo.SqlCaptureInspector;
+import com.demo.codo.annotation.AuthenticatedIntegrationTest;
+import com.demo.codo.constant.TestUser;
+import com.demo.codo.dto.TodoItemDto;
+import com.demo.codo.dto.TodoItemRequest;
+import com.demo.codo.dto.TodoListDto;
+import com.demo.codo.dto.TodoListRequest;
+import com.demo.codo.dto.UserRequest;
+import com.demo.codo.enums.TodoItemStatus;
+import com.demo.codo.exception.NotFoundException;
+import com.demo.codo.repository.TodoItemRepository;
+import com.demo.codo.repository.TodoItemSpecifications;
+import com.demo.codo.repository.TodoListRepository;
+import com.demo.codo.repository.UserRepository;
+import com.demo.codo.repository.UserTodoListRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@AuthenticatedIntegrationTest
+class TodoWriteQueryCountTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoListService todoListService;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+
+    @Autowired
+    private UserTodoListRepository userTodoListRepository;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    private TodoListDto list;
+
+    @BeforeAll
+    void setUpOnce() {
+        userRepository.deleteAll();
+
+        userService.create(UserRequest.builder()
+                .name(TestUser.NAME)
+                .email(TestUser.EMAIL)
+                .password(TestUser.PASSWORD)
+                .build());
+    }
+
+    @BeforeEach
+    void setUp() {
+        list = todoListService.create(new TodoListRequest("Query budget list", "Description"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlCaptureInspector.stop();
+    }
+
+    @Test
+    void shouldCreateItemWithSingleInsert() {
+        SqlCaptureInspector.start();
+        todoItemService.create(list.getId(), new TodoItemRequest("Task", null, LocalDate.now(), TodoItemStatus.TODO));
+        List<String> statements = SqlCaptureInspector.stop();
+
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0)).startsWithIgnoringCase("insert");
+    }
+
+    @Test
+    void shouldUpdateItemWithSingleStatement() {
+        TodoItemDto item = todoItemService.create(list.getId(), new TodoItemRequest("Task", "Before", LocalDate.now(), TodoItemStatus.TODO));
+
+        SqlCaptureInspector.start();
+        TodoItemDto updated = todoItemService.update(list.getId(), item.getId(), new TodoItemRequest(null, null, null, TodoItemStatus.COMPLETED), item.getVersion());
+        List<String> statements = SqlCaptureInspector.stop();
+
+        assertThat(statements).hasSize(1);
+        assertThat(updated.getName()).isEqualTo("Task");
+        assertThat(updated.getDescription()).isEqualTo("Before");
+        assertThat(updated.getStatus()).isEqualTo("COMPLETED");
+        assertThat(updated.getVersion()).isEqualTo(item.getVersion() + 1);
+    }
+
+    @Test
+    void shouldDeleteItemWithSingleStatement() {
+        TodoItemDto item = todoItemService.create(list.getId(), new TodoItemRequest("Task", null, null, TodoItemStatus.TODO));
+
+        SqlCaptureInspector.start();
+        todoItemService.delete(list.getId(), item.getId());
+        assertThat(SqlCaptureInspector.stop()).hasSize(1);
+
+        assertThrows(NotFoundException.class, () -> todoItemService.delete(list.getId(), item.getId()));
+    }
+
+    @Test
+    void shouldUpdateListWithSingleStatement() {
+        SqlCaptureInspector.start();
+        TodoListDto updated = todoListService.update(list.getId(), new TodoListRequest("Renamed", null), list.getVersion());
+        List<String> statements = SqlCaptureInspector.stop();
+
+        assertThat(statements).hasSize(1);
+        assertThat(updated.getName()).isEqualTo("Renamed");
+        assertThat(updated.getDescription()).isEqualTo("Description");
+        assertThat(updated.getVersion()).isEqualTo(list.getVersion() + 1);
+        assertThrows(NotFoundException.class, () -> todoListService.update(UUID.randomUUID(), new TodoListRequest("Missing", null), null));
+    }
+
+    @Test
+    void shouldServeListLookupsFromSecondLevelCacheUntilUpdated() {
+        todoListRepository.findById(list.getId()).orElseThrow();
+
+        SqlCaptureInspector.start();
+        todoListRepository.findById(list.getId()).orElseThrow();
+        assertThat(SqlCaptureInspector.stop()).isEmpty();
+
+        todoListService.update(list.getId(), new TodoListRequest("Renamed", null), null);
+
+        SqlCaptureInspector.start();
+        assertThat(todoListRepository.findById(list.getId()).orElseThrow().getName()).isEqualTo("Renamed");
+        assertThat(SqlCaptureInspector.stop()).hasSize(1);
+    }
+
+    @Test
+    void shouldDeleteListWithItemsAndMembershipsInSingleStatement() {
+        todoItemService.create(list.getId(), new TodoItemRequest("Task", null, null, TodoItemStatus.TODO));
+
+        SqlCaptureInspector.start();
+        todoListService.delete(list.getId());
+        assertThat(SqlCaptureInspector.stop()).hasSize(1);
+
+        assertThat(todoItemRepository.findAll(TodoItemSpecifications.filter(list.getId(), null, null, null))).isEmpty();
+        assertThat(userTodoListRepository.existsByUserIdAndListId(userRepository.findByEmail(TestUser.EMAIL).orElseThrow().getId(), list.getId())).isFalse();
+    }
+}
@@ -54,19 +54,19 @@ class TokenServiceUnitTest {
         UUID userId = UUID.randomUUID();
         String token = tokenService.generate(userId);
 
-        when(valueOperations.get(anyString())).thenReturn(userId.toString());
-        when(redisTemplate.delete(anyString())).thenReturn(true);
+        when(valueOperations.getAndDelete(anyString())).thenReturn(userId.toString());
 
         UUID result = tokenService.verifyToken(token);
 
         assertThat(result).isEqualTo(userId);
-        verify(redisTemplate).delete(anyString());
+        verify(valueOperations).getAndDelete(anyString());
+        verify(redisTemplate, never()).delete(anyString());
     }
 
     @Test
     void shouldReturnNullWithInvalidToken() {
         String invalidToken = "invalid-token";
-        when(valueOperations.get(anyString())).thenReturn(null);
+        when(valueOperations.getAndDelete(anyString())).thenReturn(null);
         UUID result = tokenService.verifyToken(invalidToken);
         assertThat(result).isNull();
     }